@@ -0,0 +1,136 @@
+package motorph;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces a file without ever leaving a half-written version of it on disk.
+ * Everything is written to a temporary file next to the target; {@link #commit()} flushes it,
+ * forces it to the disk and renames it over the target in one step. Closing the writer
+ * without committing (e.g. after an exception) deletes the temporary file and leaves the
+ * target untouched, so other readers always see either the old or the new contents.
+ */
+public class AtomicFileWriter extends Writer {
+    // Large enough that bulk saves hit the disk in big blocks
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final File target;
+    private final File temp;
+    private final FileOutputStream stream;
+    private final Writer writer;
+    private boolean committed;
+    private boolean closed;
+
+    /**
+     * Starts replacing a file.
+     * @param filePath Path to the file to replace.
+     * @throws IOException If the temporary file cannot be created.
+     */
+    public AtomicFileWriter(String filePath) throws IOException {
+        this.target = new File(filePath);
+        this.temp = new File(filePath + ".tmp");
+        this.stream = new FileOutputStream(temp);
+        // Same charset as FileWriter so the file contents do not change
+        this.writer = new BufferedWriter(new OutputStreamWriter(stream, Charset.defaultCharset()), BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        writer.write(buffer, offset, length);
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        writer.write(text, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Returns a stream for writing binary contents instead of text; do not mix the two.
+     * Closing the stream only flushes it, so {@link #commit()} and {@link #close()} still decide
+     * whether the target is replaced.
+     */
+    public OutputStream getOutputStream() {
+        return new FilterOutputStream(stream) {
+            @Override
+            public void write(byte[] buffer, int offset, int length) throws IOException {
+                out.write(buffer, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * Makes the written contents durable and moves them over the target file.
+     * @throws IOException If flushing, syncing or renaming fails; the target is then left as it was.
+     */
+    public void commit() throws IOException {
+        if (closed) {
+            throw new IOException("Writer for " + target + " is already closed");
+        }
+        writer.flush();
+        stream.getFD().sync();
+        writer.close();
+        closed = true;
+        try {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+        committed = true;
+        syncDirectory();
+    }
+
+    /**
+     * Closes the writer; if {@link #commit()} was not called, the temporary file is deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                writer.close();
+            } finally {
+                temp.delete();
+            }
+        } else if (!committed) {
+            temp.delete();
+        }
+    }
+
+    // Makes the rename itself durable; not supported on every platform, so failures are ignored
+    private void syncDirectory() {
+        File directory = target.getAbsoluteFile().getParentFile();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The file contents are already synced; only the directory entry may lag behind
+        }
+    }
+}
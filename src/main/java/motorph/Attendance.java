@@ -7,7 +7,7 @@ import java.time.LocalTime;
  * Represents an attendance record for an employee, including their ID, 
  * date of attendance, and the times they clocked in and out.
  */
-public class Attendance {
+public class Attendance implements AttendanceView {
     private String employeeId;
     private LocalDate date;
     private LocalTime timeIn;
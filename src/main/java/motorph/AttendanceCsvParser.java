@@ -0,0 +1,571 @@
+package motorph;
+
+import com.opencsv.CSVParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * A fast parser for the fixed six-column attendance format
+ * (Employee #, Last Name, First Name, Date, Log In, Log Out).
+ * Rows are read as bytes from a buffered file channel, and the employee ID, date and
+ * times are decoded straight from the bytes into a {@link PackedAttendance}, without creating
+ * a String per column or an Attendance object per row. Employee ID strings are shared between rows.
+ * Any row that does not match the expected format (a field the fast path cannot
+ * decode, missing columns, or a quoted value spanning several lines) is split with
+ * opencsv and handed to a fallback, so it is handled exactly like before.
+ * Large files are memory-mapped and split into newline-aligned chunks that are
+ * scanned in place in parallel on the common fork-join pool, then merged back in file order.
+ * The mappings are only referenced during the parse; like every mapping in Java they are
+ * released when the garbage collector reclaims them, since forcing an unmap through JDK
+ * internals would crash the JVM on any later read of the buffer.
+ */
+public class AttendanceCsvParser {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CACHED_FIRST_YEAR = 1900;
+    private static final int CACHED_YEARS = 300;
+
+    // Files smaller than this are read sequentially, mapping and splitting them is not worth it
+    private static final long PARALLEL_THRESHOLD = 4L * 1024 * 1024;
+    private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    // LocalDate is immutable, so one cache can be shared by all parsers, including parallel ones
+    private static final LocalDate[] DATE_CACHE = new LocalDate[CACHED_YEARS * 12 * 31];
+
+    private final RowSink rows;
+    private final Consumer<String[]> fallback;
+    private final Charset fallbackCharset = Charset.defaultCharset();
+
+    private int[] idKeys = new int[64];
+    private String[] idValues = new String[64];
+    private int idCount;
+
+    // Field boundaries of the current line, reused for every line
+    private final int[] fieldStart = new int[6];
+    private final int[] fieldEnd = new int[6];
+
+    // Used only for rows the fast path cannot handle
+    private CSVParser csvParser;
+    private StringBuilder pendingRecord;
+
+    private AttendanceCsvParser(RowSink rows, Consumer<String[]> fallback) {
+        this.rows = rows;
+        this.fallback = fallback;
+    }
+
+    // Receives each decoded row: employee ID, epoch day and times in minutes (-1 when empty)
+    private interface RowSink {
+        void add(String employeeId, int epochDay, int timeIn, int timeOut);
+    }
+
+    /**
+     * Parses an attendance file, skipping its header line.
+     * Files larger than a few megabytes are parsed in parallel; the result is the same either way.
+     * @param filePath Path to the attendance CSV file.
+     * @param records The container that parsed records are put into, in file order.
+     * @param fallback Receives the opencsv columns of every row the fast path could not decode,
+     *                 always on the calling thread and in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    public static void parse(String filePath, PackedAttendance records, Consumer<String[]> fallback) throws IOException {
+        long size = Files.size(Paths.get(filePath));
+        if (size < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2
+                || !parseParallel(filePath, size, records, fallback)) {
+            new AttendanceCsvParser(records::put, fallback).parseFile(filePath);
+        }
+    }
+
+    /**
+     * Memory-maps the file, parses newline-aligned chunks in parallel and merges them in order.
+     * @return false if a quoted value spans a chunk boundary, in which case nothing was added
+     *         and the file has to be parsed sequentially.
+     */
+    private static boolean parseParallel(String filePath, long size, PackedAttendance records,
+                                         Consumer<String[]> fallback) throws IOException {
+        List<ChunkResult> results = new ArrayList<>();
+        List<ForkJoinTask<ChunkResult>> tasks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4L)));
+
+            long start = 0;
+            while (start < size) {
+                long end = findLineEnd(channel, Math.min(size, start + chunkSize), size);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                boolean isFirstChunk = start == 0;
+                tasks.add(ForkJoinPool.commonPool().submit(() -> parseChunk(mapped, isFirstChunk)));
+                start = end;
+            }
+            for (ForkJoinTask<ChunkResult> task : tasks) {
+                results.add(task.join());
+            }
+        } finally {
+            // If a chunk failed, let the others finish too, so none is still being read after returning
+            for (ForkJoinTask<ChunkResult> task : tasks) {
+                task.quietlyJoin();
+            }
+        }
+
+        // A chunk ending inside a quoted value means the next chunk started in the middle of a row
+        for (int i = 0; i < results.size() - 1; i++) {
+            if (results.get(i).endsInsideQuotes) {
+                return false;
+            }
+        }
+
+        for (ChunkResult result : results) {
+            result.mergeInto(records, fallback);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the position just after the first newline at or after {@code from}, or the file size.
+     */
+    private static long findLineEnd(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses one mapped chunk on a worker thread.
+     * Fallback rows are only collected here and replayed on the calling thread during the merge.
+     */
+    private static ChunkResult parseChunk(MappedByteBuffer mapped, boolean isFirstChunk) {
+        ChunkResult result = new ChunkResult();
+        AttendanceCsvParser parser = new AttendanceCsvParser(result, fallbackLine -> {
+            result.fallbackPositions.add(result.size);
+            result.fallbackLines.add(fallbackLine);
+        });
+        // Scanned in place with absolute reads, so the chunk is never copied to the heap
+        int length = mapped.limit();
+        boolean isHeader = isFirstChunk;
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (mapped.get(i) == '\n') {
+                if (!isHeader) {
+                    parser.parseLine(mapped, lineStart, i);
+                }
+                isHeader = false;
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < length && !isHeader) {
+            parser.parseLine(mapped, lineStart, length);
+        }
+        result.endsInsideQuotes = parser.pendingRecord != null;
+        if (result.endsInsideQuotes) {
+            parser.flushPendingRecord();
+        }
+        return result;
+    }
+
+    /**
+     * The rows parsed from one chunk, kept in columns until the merge, plus the rows left to
+     * the fallback and where they occurred.
+     */
+    private static class ChunkResult implements RowSink {
+        String[] employeeIds = new String[1024];
+        int[] epochDays = new int[1024];
+        short[] timesIn = new short[1024];
+        short[] timesOut = new short[1024];
+        int size;
+        final List<Integer> fallbackPositions = new ArrayList<>();
+        final List<String[]> fallbackLines = new ArrayList<>();
+        boolean endsInsideQuotes;
+
+        @Override
+        public void add(String employeeId, int epochDay, int timeIn, int timeOut) {
+            if (size == epochDays.length) {
+                int capacity = size + (size >> 1);
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                timesIn = Arrays.copyOf(timesIn, capacity);
+                timesOut = Arrays.copyOf(timesOut, capacity);
+            }
+            employeeIds[size] = employeeId;
+            epochDays[size] = epochDay;
+            timesIn[size] = (short) timeIn;
+            timesOut[size] = (short) timeOut;
+            size++;
+        }
+
+        /**
+         * Puts the rows into the container, passing fallback rows to the fallback at their original position.
+         */
+        void mergeInto(PackedAttendance target, Consumer<String[]> fallback) {
+            int next = 0;
+            for (int i = 0; i < fallbackLines.size(); i++) {
+                int position = fallbackPositions.get(i);
+                putRows(target, next, position);
+                next = position;
+                fallback.accept(fallbackLines.get(i));
+            }
+            putRows(target, next, size);
+        }
+
+        private void putRows(PackedAttendance target, int from, int to) {
+            for (int i = from; i < to; i++) {
+                target.put(employeeIds[i], epochDays[i], timesIn[i], timesOut[i]);
+            }
+        }
+    }
+
+    private void parseFile(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            boolean isHeader = true;
+            int lineStart = 0;
+            int end = 0;
+            boolean eof = false;
+            while (!eof) {
+                // Move the unfinished line to the front and fill the rest of the buffer
+                if (lineStart > 0) {
+                    System.arraycopy(bytes, lineStart, bytes, 0, end - lineStart);
+                    end -= lineStart;
+                    lineStart = 0;
+                }
+                if (end == bytes.length) {
+                    // A single line longer than the buffer: grow it
+                    ByteBuffer larger = ByteBuffer.allocate(bytes.length * 2);
+                    larger.put(bytes, 0, end);
+                    buffer = larger;
+                    bytes = buffer.array();
+                }
+                buffer.clear();
+                buffer.position(end);
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    end += read;
+                }
+
+                int scan = lineStart;
+                while (scan < end) {
+                    if (bytes[scan] == '\n') {
+                        if (!isHeader) {
+                            parseLine(buffer, lineStart, scan);
+                        }
+                        isHeader = false;
+                        lineStart = scan + 1;
+                    }
+                    scan++;
+                }
+                if (eof && lineStart < end) {
+                    // Last line without a trailing newline
+                    if (!isHeader) {
+                        parseLine(buffer, lineStart, end);
+                    }
+                    lineStart = end;
+                }
+            }
+        }
+        if (pendingRecord != null) {
+            // Unterminated quoted value at the end of the file
+            flushPendingRecord();
+        }
+    }
+
+    /**
+     * Parses one line (without its newline) and adds the record, or hands it to the fallback.
+     */
+    private void parseLine(ByteBuffer bytes, int start, int end) {
+        if (end > start && bytes.get(end - 1) == '\r') {
+            end--;
+        }
+        if (pendingRecord != null) {
+            // Continuation of a quoted value that spans lines
+            appendPendingLine(bytes, start, end);
+            return;
+        }
+        int fields = splitFields(bytes, start, end);
+        if (fields < 0) {
+            // A quote is still open at the end of the line
+            pendingRecord = new StringBuilder();
+            appendPendingLine(bytes, start, end);
+            return;
+        }
+        if (fields < 6 || !decodeRecord(bytes)) {
+            fallbackLine(bytes, start, end);
+        }
+    }
+
+    /**
+     * Finds the first six field boundaries of a line, skipping the quotes of quoted fields.
+     * @return The number of fields found (at most 6), or -1 if a quote is not closed.
+     */
+    private int splitFields(ByteBuffer bytes, int start, int end) {
+        int field = 0;
+        int pos = start;
+        while (field < 6) {
+            if (pos < end && bytes.get(pos) == '"') {
+                int valueStart = pos + 1;
+                pos = valueStart;
+                while (true) {
+                    if (pos >= end) {
+                        return -1;
+                    }
+                    if (bytes.get(pos) == '"') {
+                        if (pos + 1 < end && bytes.get(pos + 1) == '"') {
+                            pos += 2; // Escaped quote
+                            continue;
+                        }
+                        break;
+                    }
+                    pos++;
+                }
+                fieldStart[field] = valueStart;
+                fieldEnd[field] = pos;
+                pos++; // Closing quote
+                field++;
+                if (pos < end && bytes.get(pos) != ',') {
+                    return 0; // Text after a closing quote, let opencsv decide
+                }
+            } else {
+                fieldStart[field] = pos;
+                while (pos < end && bytes.get(pos) != ',') {
+                    pos++;
+                }
+                fieldEnd[field] = pos;
+                field++;
+            }
+            if (pos >= end) {
+                break;
+            }
+            pos++; // Comma
+        }
+        if (field == 6) {
+            // Extra columns are ignored, but an open quote in them continues on the next line
+            int quotes = 0;
+            for (int i = pos; i < end; i++) {
+                if (bytes.get(i) == '"') {
+                    quotes++;
+                }
+            }
+            if (quotes % 2 != 0) {
+                return -1;
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Decodes the ID, date and time fields of the current line.
+     * @return false if any of them is not in the expected format.
+     */
+    private boolean decodeRecord(ByteBuffer bytes) {
+        String employeeId = decodeEmployeeId(bytes, fieldStart[0], fieldEnd[0]);
+        LocalDate date = employeeId != null ? decodeDate(bytes, fieldStart[3], fieldEnd[3]) : null;
+        if (date == null) {
+            return false;
+        }
+        int timeIn = decodeMinuteOfDay(bytes, fieldStart[4], fieldEnd[4]);
+        int timeOut = decodeMinuteOfDay(bytes, fieldStart[5], fieldEnd[5]);
+        if (timeIn == -2 || timeOut == -2) {
+            return false;
+        }
+        rows.add(employeeId, (int) date.toEpochDay(), timeIn, timeOut);
+        return true;
+    }
+
+    /**
+     * Decodes a numeric employee ID, reusing the String of IDs seen before.
+     * @return The ID, or null if the field is not a plain number without leading zeros.
+     */
+    private String decodeEmployeeId(ByteBuffer bytes, int start, int end) {
+        int length = end - start;
+        if (length < 1 || length > 9 || bytes.get(start) == '0') {
+            return null;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        int mask = idKeys.length - 1;
+        int slot = (value * 0x9E3779B9 >>> 7) & mask;
+        while (idValues[slot] != null) {
+            if (idKeys[slot] == value) {
+                return idValues[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        String id = decodeString(bytes, start, end);
+        idKeys[slot] = value;
+        idValues[slot] = id;
+        if (++idCount * 2 > idKeys.length) {
+            growIdCache();
+        }
+        return id;
+    }
+
+    private void growIdCache() {
+        int[] oldKeys = idKeys;
+        String[] oldValues = idValues;
+        idKeys = new int[oldKeys.length * 2];
+        idValues = new String[oldValues.length * 2];
+        int mask = idKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = (oldKeys[i] * 0x9E3779B9 >>> 7) & mask;
+                while (idValues[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                idKeys[slot] = oldKeys[i];
+                idValues[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Decodes an MM/dd/yyyy date, reusing the LocalDate of dates seen before.
+     * @return The date, or null if the field is not a valid date in that format.
+     */
+    private LocalDate decodeDate(ByteBuffer bytes, int start, int end) {
+        if (end - start != 10 || bytes.get(start + 2) != '/' || bytes.get(start + 5) != '/') {
+            return null;
+        }
+        int month = decodeDigits(bytes, start, 2);
+        int day = decodeDigits(bytes, start + 3, 2);
+        int year = decodeDigits(bytes, start + 6, 4);
+        if (month < 1 || month > 12 || day < 1 || year < 1) {
+            return null;
+        }
+        int yearIndex = year - CACHED_FIRST_YEAR;
+        int cacheIndex = yearIndex >= 0 && yearIndex < CACHED_YEARS ? (yearIndex * 12 + month - 1) * 31 + day - 1 : -1;
+        if (cacheIndex >= 0 && DATE_CACHE[cacheIndex] != null) {
+            return DATE_CACHE[cacheIndex];
+        }
+        if (day > 28 && day > YearMonth.of(year, month).lengthOfMonth()) {
+            return null; // Leave out-of-range days to the regular parser's rules
+        }
+        LocalDate date = LocalDate.of(year, month, day);
+        if (cacheIndex >= 0) {
+            DATE_CACHE[cacheIndex] = date;
+        }
+        return date;
+    }
+
+    /**
+     * Decodes an H:mm or HH:mm time to minutes since midnight.
+     * @return The minute of the day, -1 for an empty field, or -2 if the field is not a valid time.
+     */
+    private int decodeMinuteOfDay(ByteBuffer bytes, int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            return -1;
+        }
+        if ((length != 4 && length != 5) || bytes.get(end - 3) != ':') {
+            return -2;
+        }
+        int hour = decodeDigits(bytes, start, length - 3);
+        int minute = decodeDigits(bytes, end - 2, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return -2;
+        }
+        return hour * 60 + minute;
+    }
+
+    /**
+     * Decodes a fixed number of ASCII digits.
+     * @return The value, or -1 if a byte is not a digit.
+     */
+    private static int decodeDigits(ByteBuffer bytes, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void fallbackLine(ByteBuffer bytes, int start, int end) {
+        try {
+            fallback.accept(getCsvParser().parseLine(decodeString(bytes, start, end)));
+        } catch (IOException e) {
+            System.err.println("Error parsing attendance line: " + e.getMessage());
+        }
+    }
+
+    private void appendPendingLine(ByteBuffer bytes, int start, int end) {
+        if (pendingRecord.length() > 0) {
+            pendingRecord.append('\n');
+        }
+        pendingRecord.append(decodeString(bytes, start, end));
+        if (hasBalancedQuotes(pendingRecord)) {
+            flushPendingRecord();
+        }
+    }
+
+    private void flushPendingRecord() {
+        String record = pendingRecord.toString();
+        pendingRecord = null;
+        try {
+            fallback.accept(getCsvParser().parseLine(record));
+        } catch (IOException e) {
+            System.err.println("Error parsing attendance line: " + e.getMessage());
+        }
+    }
+
+    private static boolean hasBalancedQuotes(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 0;
+    }
+
+    private String decodeString(ByteBuffer bytes, int start, int end) {
+        byte[] copy = new byte[end - start];
+        ByteBuffer source = bytes.duplicate();
+        source.position(start);
+        source.get(copy);
+        return new String(copy, fallbackCharset);
+    }
+
+    private CSVParser getCsvParser() {
+        if (csvParser == null) {
+            csvParser = new CSVParser();
+        }
+        return csvParser;
+    }
+}
@@ -0,0 +1,136 @@
+package motorph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A compact binary copy of the attendance CSV used to speed up startup.
+ * Each record is stored as the employee ID (int), the date (epoch day, int) and
+ * the log in / log out times (minutes since midnight, short, -1 when empty).
+ * The header remembers the size and last-modified time of the CSV it was made from,
+ * and the snapshot is only used while the CSV still has exactly that size and time.
+ * The CSV stays the source of truth; the snapshot can be deleted at any time.
+ */
+public class AttendanceSnapshot {
+    private static final int MAGIC = 0x4D504841; // "MPHA"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+    private static final int RECORD_SIZE = 4 + 4 + 2 + 2;
+
+    private AttendanceSnapshot() {}
+
+    /**
+     * Reads the snapshot if it was made from the current version of the CSV.
+     * @param snapshotPath Path to the snapshot file.
+     * @param csvPath Path to the attendance CSV the snapshot was made from.
+     * @return The records in file order, or null if the snapshot is missing, stale or unreadable.
+     */
+    public static PackedAttendance read(String snapshotPath, String csvPath) {
+        File snapshot = new File(snapshotPath);
+        File csv = new File(csvPath);
+        if (!snapshot.isFile() || !csv.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot.toPath(), StandardOpenOption.READ)) {
+            // Read into the heap rather than mapping, so no mapping keeps the file locked on Windows
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            if (buffer.remaining() < HEADER_SIZE
+                    || buffer.getInt() != MAGIC
+                    || buffer.getInt() != VERSION
+                    || buffer.getLong() != csv.length()
+                    || buffer.getLong() != csv.lastModified()) {
+                return null;
+            }
+            int count = buffer.getInt();
+            if (count < 0 || buffer.remaining() != (long) count * RECORD_SIZE) {
+                return null;
+            }
+
+            PackedAttendance records = new PackedAttendance();
+            // Rows repeat a small set of IDs, so share their strings
+            Map<Integer, String> employeeIds = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                int idValue = buffer.getInt();
+                int epochDay = buffer.getInt();
+                short timeIn = buffer.getShort();
+                short timeOut = buffer.getShort();
+                records.put(employeeIds.computeIfAbsent(idValue, id -> Integer.toString(id)), epochDay, timeIn, timeOut);
+            }
+            return records;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable attendance snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the records of a version of the CSV.
+     * The CSV's size and last-modified time must be read before its records were read (or right
+     * after they were written), so a CSV that changes in between leaves a stale snapshot, which is
+     * ignored, instead of one that claims to match the new contents.
+     * If a record cannot be represented (e.g. a non-numeric employee ID), any old snapshot
+     * is removed instead so it is never used for the new CSV.
+     * @param snapshotPath Path to the snapshot file.
+     * @param csvLength The size of the CSV the records came from.
+     * @param csvLastModified The last-modified time of the CSV the records came from.
+     * @param records The records of the CSV, in file order.
+     */
+    public static void write(String snapshotPath, long csvLength, long csvLastModified, PackedAttendance records) {
+        File snapshot = new File(snapshotPath);
+        if (!canStore(records)) {
+            snapshot.delete();
+            return;
+        }
+        try (AtomicFileWriter file = new AtomicFileWriter(snapshotPath)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.getOutputStream(), 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(csvLength);
+            out.writeLong(csvLastModified);
+            out.writeInt(records.size());
+            PackedAttendance.Cursor cursor = records.cursor();
+            for (int row = 0; row < records.size(); row++) {
+                cursor.moveTo(row);
+                out.writeInt(Integer.parseInt(cursor.getEmployeeId()));
+                out.writeInt(cursor.getEpochDay());
+                out.writeShort(cursor.getTimeInMinutes());
+                out.writeShort(cursor.getTimeOutMinutes());
+            }
+            out.flush();
+            file.commit();
+        } catch (IOException e) {
+            System.err.println("Error writing attendance snapshot: " + e.getMessage());
+            // Never leave the old snapshot behind to be taken for the new records
+            snapshot.delete();
+        }
+    }
+
+    /**
+     * Returns true if every employee ID is a plain number that survives the round trip through an int.
+     */
+    private static boolean canStore(PackedAttendance records) {
+        for (String id : records.getEmployeeIds()) {
+            try {
+                if (!Integer.toString(Integer.parseInt(id)).equals(id)) {
+                    return false;
+                }
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
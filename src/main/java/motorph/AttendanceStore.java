@@ -0,0 +1,222 @@
+package motorph;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide, in-memory index of the attendance file.
+ * Records are kept in a {@link PackedAttendance} container with a date-sorted row index
+ * per employee, so looking up one employee's records for a date range or payroll month
+ * only touches that employee's records instead of scanning the whole file.
+ * Like {@link EmployeeRepository}, the files are parsed again only when the size or
+ * last-modified time of one of them changes. Returned lists hold new Attendance objects
+ * copied out of the container; the forEach methods pass a reusable read-only view instead,
+ * for callers that only read the records.
+ */
+public class AttendanceStore {
+    private final File[] files;
+    private final Supplier<PackedAttendance> loader;
+
+    private PackedAttendance records = new PackedAttendance();
+    private long[] loadedStamp = new long[0];
+
+    /**
+     * Creates a store for the given files.
+     * @param loader Parses the files into a container of attendance records, in file order.
+     * @param filePaths Paths to the files the loader reads (e.g. the attendance CSV and its journal).
+     */
+    public AttendanceStore(Supplier<PackedAttendance> loader, String... filePaths) {
+        this.loader = loader;
+        this.files = new File[filePaths.length];
+        for (int i = 0; i < filePaths.length; i++) {
+            this.files[i] = new File(filePaths[i]);
+        }
+    }
+
+    /**
+     * Returns all records in the order they appear in the file.
+     */
+    public synchronized List<Attendance> findAll() {
+        refreshIfChanged();
+        return records.toList();
+    }
+
+    /**
+     * Returns the IDs of all employees that have at least one record, sorted.
+     */
+    public synchronized List<String> findEmployeeIds() {
+        refreshIfChanged();
+        return sortedEmployeeIds();
+    }
+
+    // Returns the employee IDs of the loaded records, sorted, without checking the files
+    private List<String> sortedEmployeeIds() {
+        List<String> employeeIds = records.getEmployeeIds();
+        Collections.sort(employeeIds);
+        return employeeIds;
+    }
+
+    /**
+     * Returns the record for an employee on a date, or null if there is none.
+     */
+    public synchronized Attendance find(String employeeId, LocalDate date) {
+        refreshIfChanged();
+        int row = records.findRow(employeeId, date);
+        return row >= 0 ? records.get(row) : null;
+    }
+
+    /**
+     * Returns all records of an employee sorted by date.
+     */
+    public synchronized List<Attendance> findByEmployee(String employeeId) {
+        refreshIfChanged();
+        return records.get(records.findRows(employeeId));
+    }
+
+    /**
+     * Returns the records of an employee between two dates (both inclusive), sorted by date.
+     */
+    public synchronized List<Attendance> findByEmployee(String employeeId, LocalDate from, LocalDate to) {
+        refreshIfChanged();
+        return records.get(records.findRows(employeeId, from, to));
+    }
+
+    /**
+     * Passes every record to an action in file order, without copying the records.
+     * The action receives a read-only cursor that must not be kept after it returns.
+     */
+    public synchronized void forEach(Consumer<? super AttendanceView> action) {
+        refreshIfChanged();
+        PackedAttendance.Cursor cursor = records.cursor();
+        for (int row = 0; row < records.size(); row++) {
+            action.accept(cursor.moveTo(row));
+        }
+    }
+
+    /**
+     * Passes each record of an employee to an action, sorted by date, without copying the records.
+     * The action receives a read-only cursor that must not be kept after it returns.
+     */
+    public synchronized void forEachByEmployee(String employeeId, Consumer<? super AttendanceView> action) {
+        refreshIfChanged();
+        PackedAttendance.Cursor cursor = records.cursor();
+        for (int row : records.findRows(employeeId)) {
+            action.accept(cursor.moveTo(row));
+        }
+    }
+
+    /**
+     * Returns the records of an employee that belong to a payroll month, sorted by date.
+     * A record belongs to the month where the next (or same) Friday falls.
+     */
+    public synchronized List<Attendance> findByEmployeeAndPayrollMonth(String employeeId, YearMonth month) {
+        return findByEmployee(employeeId, PayrollCalendar.getPayrollMonthStart(month), PayrollCalendar.getPayrollMonthEnd(month));
+    }
+
+    /**
+     * Returns the records of all employees that belong to a payroll month,
+     * sorted by employee ID and then by date.
+     */
+    public synchronized List<Attendance> findByPayrollMonth(YearMonth month) {
+        // Refresh once so every employee is read from the same load
+        refreshIfChanged();
+        LocalDate from = PayrollCalendar.getPayrollMonthStart(month);
+        LocalDate to = PayrollCalendar.getPayrollMonthEnd(month);
+        List<Attendance> result = new ArrayList<>();
+        for (String employeeId : sortedEmployeeIds()) {
+            result.addAll(records.get(records.findRows(employeeId, from, to)));
+        }
+        return result;
+    }
+
+    /**
+     * Reloads the files if they changed since the last load. Writers call this before writing,
+     * so edits made outside the application are picked up and the write itself is not
+     * mistaken for one afterwards.
+     */
+    public synchronized void refresh() {
+        refreshIfChanged();
+    }
+
+    /**
+     * Returns the work figures of an employee's records that belong to a payroll month, sorted by date.
+     */
+    public synchronized List<DailyWorkSummary> findSummariesByEmployeeAndPayrollMonth(String employeeId, YearMonth month) {
+        refreshIfChanged();
+        return records.getSummaries(records.findRows(employeeId, PayrollCalendar.getPayrollMonthStart(month), PayrollCalendar.getPayrollMonthEnd(month)));
+    }
+
+    /**
+     * Returns the work figures of all records that belong to a payroll month,
+     * sorted by employee ID and then by date.
+     */
+    public synchronized List<DailyWorkSummary> findSummariesByPayrollMonth(YearMonth month) {
+        // Refresh once so every employee is read from the same load
+        refreshIfChanged();
+        LocalDate from = PayrollCalendar.getPayrollMonthStart(month);
+        LocalDate to = PayrollCalendar.getPayrollMonthEnd(month);
+        List<DailyWorkSummary> result = new ArrayList<>();
+        for (String employeeId : sortedEmployeeIds()) {
+            result.addAll(records.getSummaries(records.findRows(employeeId, from, to)));
+        }
+        return result;
+    }
+
+    /**
+     * Adds a record, or replaces the record of the same employee on the same date.
+     * Used after the record has been written to disk by this process, with the store
+     * refreshed before the write (see {@link #refresh()}).
+     */
+    public synchronized void put(Attendance record) {
+        records.put(record);
+        rememberFileStamp();
+    }
+
+    /**
+     * Replaces the cached contents after the whole file has been written by this process.
+     * @param records The records that were written, in file order.
+     */
+    public synchronized void replaceAll(PackedAttendance records) {
+        this.records = records;
+        rememberFileStamp();
+    }
+
+    /**
+     * Drops the cached contents so the next access reloads from disk.
+     */
+    public synchronized void invalidate() {
+        loadedStamp = new long[0];
+    }
+
+    /**
+     * Reloads the files if the size or last-modified time of one of them changed since the last load.
+     */
+    private void refreshIfChanged() {
+        long[] stamp = readFileStamp();
+        if (!Arrays.equals(stamp, loadedStamp)) {
+            // The stamp is taken before parsing so a write during the parse triggers another reload
+            records = loader.get();
+            loadedStamp = stamp;
+        }
+    }
+
+    private void rememberFileStamp() {
+        loadedStamp = readFileStamp();
+    }
+
+    private long[] readFileStamp() {
+        long[] stamp = new long[files.length * 2];
+        for (int i = 0; i < files.length; i++) {
+            stamp[i * 2] = files[i].length();
+            stamp[i * 2 + 1] = files[i].lastModified();
+        }
+        return stamp;
+    }
+}
@@ -0,0 +1,20 @@
+package motorph;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only access to one attendance record: the employee ID, the date and the log in /
+ * log out times (null when empty). Implemented by {@link Attendance} and by the reusable
+ * {@link PackedAttendance.Cursor}, so code that only reads records can walk the packed
+ * store without copying each record into a new object.
+ */
+public interface AttendanceView {
+    String getEmployeeId();
+
+    LocalDate getDate();
+
+    LocalTime getTimeIn();
+
+    LocalTime getTimeOut();
+}
@@ -0,0 +1,114 @@
+package motorph;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * The work figures of one attendance record: regular, overtime, late and night minutes and whether
+ * it falls on a rest day. They are derived once, when the record is loaded or saved, and stored next
+ * to it in {@link PackedAttendance}, so payroll only adds up integers.
+ * The static methods hold the rules, on times given as minutes since midnight (-1 when missing).
+ * A log-out time earlier than the log-in time ends the next day: the shift crosses midnight and
+ * all of it counts on the record's date, the day the shift started.
+ */
+public final class DailyWorkSummary {
+    public static final int WORK_START_MINUTE = 8 * 60;
+    public static final int GRACE_PERIOD_MINUTES = 10;
+    public static final int REGULAR_MINUTES_PER_DAY = 8 * 60;
+    // Night differential hours run from 10 PM to 6 AM
+    public static final int NIGHT_START_MINUTE = 22 * 60;
+    public static final int NIGHT_END_MINUTE = 6 * 60;
+
+    private final String employeeId;
+    private final LocalDate date;
+    private final int regularMinutes;
+    private final int overtimeMinutes;
+    private final int lateMinutes;
+    private final int nightMinutes;
+    private final boolean restDay;
+
+    public DailyWorkSummary(String employeeId, LocalDate date, int regularMinutes, int overtimeMinutes,
+                            int lateMinutes, int nightMinutes, boolean restDay) {
+        this.employeeId = employeeId;
+        this.date = date;
+        this.regularMinutes = regularMinutes;
+        this.overtimeMinutes = overtimeMinutes;
+        this.lateMinutes = lateMinutes;
+        this.nightMinutes = nightMinutes;
+        this.restDay = restDay;
+    }
+
+    // Getters
+    public String getEmployeeId() { return employeeId; }
+    public LocalDate getDate() { return date; }
+    public int getRegularMinutes() { return regularMinutes; }
+    public int getOvertimeMinutes() { return overtimeMinutes; }
+    public int getLateMinutes() { return lateMinutes; }
+    public int getNightMinutes() { return nightMinutes; }
+    public boolean isRestDay() { return restDay; }
+
+    /**
+     * Returns the minutes between log-in and log-out, adding a day when the shift crosses midnight.
+     * A day without both times has none.
+     */
+    public static int calculateWorkedMinutes(int timeIn, int timeOut) {
+        if (timeIn < 0 || timeOut < 0) {
+            return 0;
+        }
+        return timeOut >= timeIn ? timeOut - timeIn : timeOut + TimeOfDay.MINUTES_PER_DAY - timeIn;
+    }
+
+    /**
+     * Returns the regular working minutes of a day, at most 8 hours.
+     */
+    public static int calculateRegularMinutes(int timeIn, int timeOut) {
+        return Math.min(calculateWorkedMinutes(timeIn, timeOut), REGULAR_MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the minutes worked beyond 8 hours.
+     */
+    public static int calculateOvertimeMinutes(int timeIn, int timeOut) {
+        return Math.max(0, calculateWorkedMinutes(timeIn, timeOut) - REGULAR_MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the minutes late, counted from 8:00 for employees arriving after the 10-minute grace period.
+     */
+    public static int calculateLateMinutes(int timeIn) {
+        return timeIn > WORK_START_MINUTE + GRACE_PERIOD_MINUTES ? timeIn - WORK_START_MINUTE : 0;
+    }
+
+    /**
+     * Returns the minutes late for a shift; shifts that cross midnight are night shifts,
+     * which have no 8:00 start to be late for.
+     */
+    public static int calculateLateMinutes(int timeIn, int timeOut) {
+        return timeIn >= 0 && timeOut >= 0 && timeOut < timeIn ? 0 : calculateLateMinutes(timeIn);
+    }
+
+    /**
+     * Returns the minutes of a shift that fall between 10 PM and 6 AM.
+     * The shift is at most a day long, so it can only overlap the night before its start,
+     * the night of its start and the night after that.
+     */
+    public static int calculateNightMinutes(int timeIn, int timeOut) {
+        int start = Math.max(timeIn, 0);
+        int end = start + calculateWorkedMinutes(timeIn, timeOut);
+        int nightMinutes = 0;
+        for (int midnight = 0; midnight <= 2 * TimeOfDay.MINUTES_PER_DAY; midnight += TimeOfDay.MINUTES_PER_DAY) {
+            int nightStart = midnight - (TimeOfDay.MINUTES_PER_DAY - NIGHT_START_MINUTE);
+            int nightEnd = midnight + NIGHT_END_MINUTE;
+            nightMinutes += Math.max(0, Math.min(end, nightEnd) - Math.max(start, nightStart));
+        }
+        return nightMinutes;
+    }
+
+    /**
+     * Returns true for Saturdays and Sundays.
+     */
+    public static boolean isRestDay(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,100 @@
+package motorph;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Remembers the statutory deductions already computed, keyed by monthly salary and rate table version.
+ * Most employees share a handful of salaries, so a payroll run computes each distinct salary once
+ * instead of once per employee per week. Entries never go stale: tables are immutable and a new
+ * version is a different key. Safe to use from the parallel all-employee runs.
+ * The hit and miss counters are meant for run reports; {@link #clear()} starts a new count.
+ */
+public class DeductionCache {
+    private final Map<Key, StatutoryDeductions> deductions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the deductions for a salary under a rate version, computing them on the first request.
+     * @param rates The rate tables in effect.
+     * @param monthlySalary The monthly salary in centavos.
+     * @param calculation Computes the deductions when they are not cached yet.
+     */
+    public StatutoryDeductions get(PayrollRates rates, long monthlySalary,
+                                   BiFunction<PayrollRates, Long, StatutoryDeductions> calculation) {
+        Key key = new Key(rates, monthlySalary);
+        StatutoryDeductions cached = deductions.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        // Another thread may have added it in the meantime; only the thread that computes counts a miss
+        boolean[] computed = new boolean[1];
+        StatutoryDeductions result = deductions.computeIfAbsent(key, k -> {
+            computed[0] = true;
+            return calculation.apply(k.rates, k.monthlySalary);
+        });
+        if (computed[0]) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Returns how many lookups were served from the cache since it was created or cleared.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many lookups had to compute the deductions since the cache was created or cleared.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of cached salary and rate version combinations.
+     */
+    public int size() {
+        return deductions.size();
+    }
+
+    /**
+     * Empties the cache and resets the counters, e.g. at the start of a payroll run.
+     */
+    public void clear() {
+        deductions.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    private static final class Key {
+        private final PayrollRates rates;
+        private final long monthlySalary;
+
+        Key(PayrollRates rates, long monthlySalary) {
+            this.rates = rates;
+            this.monthlySalary = monthlySalary;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return monthlySalary == other.monthlySalary && rates.equals(other.rates);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * rates.hashCode() + Long.hashCode(monthlySalary);
+        }
+    }
+}
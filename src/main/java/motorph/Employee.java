@@ -45,6 +45,32 @@ public class Employee {
      */
     public Employee() {}
 
+    /**
+     * Constructs a copy of another employee.
+     * @param other The employee to copy.
+     */
+    public Employee(Employee other) {
+        this.employeeId = other.employeeId;
+        this.lastName = other.lastName;
+        this.firstName = other.firstName;
+        this.birthday = other.birthday;
+        this.address = other.address;
+        this.phoneNumber = other.phoneNumber;
+        this.sssNumber = other.sssNumber;
+        this.philhealthNumber = other.philhealthNumber;
+        this.tinNumber = other.tinNumber;
+        this.pagibigNumber = other.pagibigNumber;
+        this.status = other.status;
+        this.position = other.position;
+        this.supervisor = other.supervisor;
+        this.basicSalary = other.basicSalary;
+        this.riceSubsidy = other.riceSubsidy;
+        this.phoneAllowance = other.phoneAllowance;
+        this.clothingAllowance = other.clothingAllowance;
+        this.grossRate = other.grossRate;
+        this.hourlyRate = other.hourlyRate;
+    }
+
     /**
      * Constructs an Employee from a map of data.
      * @param data A map where keys are CSV headers and values are the employee's data.
@@ -0,0 +1,128 @@
+package motorph;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide, in-memory cache of the employee file.
+ * The file is parsed once and kept in a map indexed by employee ID. Every access
+ * checks the file's size and last-modified time, and the file is only parsed again
+ * when either of them has changed (e.g. the CSV was edited outside the application).
+ * Callers always receive copies, so editing an employee never touches the cache
+ * until it is saved.
+ */
+public class EmployeeRepository {
+    private final File file;
+    private final Supplier<List<Employee>> loader;
+
+    private Map<String, Employee> employeesById = new LinkedHashMap<>();
+    private long loadedSize = -1;
+    private long loadedLastModified = -1;
+
+    /**
+     * Creates a repository for the given file.
+     * @param filePath Path to the employee CSV file.
+     * @param loader Parses the file into a list of employees.
+     */
+    public EmployeeRepository(String filePath, Supplier<List<Employee>> loader) {
+        this.file = new File(filePath);
+        this.loader = loader;
+    }
+
+    /**
+     * Returns copies of all employees in file order.
+     */
+    public synchronized List<Employee> findAll() {
+        Collection<Employee> employees = current().values();
+        List<Employee> copies = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            copies.add(new Employee(employee));
+        }
+        return copies;
+    }
+
+    /**
+     * Returns a copy of the employee with the given ID, or null if there is none.
+     */
+    public synchronized Employee findById(String employeeId) {
+        Employee employee = current().get(employeeId);
+        return employee != null ? new Employee(employee) : null;
+    }
+
+    /**
+     * Returns true if an employee with the given ID exists.
+     */
+    public synchronized boolean contains(String employeeId) {
+        return current().containsKey(employeeId);
+    }
+
+    /**
+     * Returns the number of employees without copying them.
+     */
+    public synchronized int count() {
+        return current().size();
+    }
+
+    /**
+     * Reloads the file if it changed since the last load, without copying anything.
+     */
+    public synchronized void refresh() {
+        current();
+    }
+
+    /**
+     * Replaces the cached contents after the file has been written by this process,
+     * so the next access does not parse the file we just produced.
+     * @param employees The list that was written to the file.
+     */
+    public synchronized void replaceAll(List<Employee> employees) {
+        employeesById = index(employees);
+        rememberFileStamp();
+    }
+
+    /**
+     * Drops the cached contents so the next access reloads from disk.
+     */
+    public synchronized void invalidate() {
+        loadedSize = -1;
+        loadedLastModified = -1;
+    }
+
+    /**
+     * Reloads the file if its size or last-modified time changed since the last load.
+     */
+    private Map<String, Employee> current() {
+        if (file.length() != loadedSize || file.lastModified() != loadedLastModified) {
+            // Take the stamp before parsing so a write during the parse triggers another reload
+            long size = file.length();
+            long lastModified = file.lastModified();
+            employeesById = index(loader.get());
+            loadedSize = size;
+            loadedLastModified = lastModified;
+        }
+        return employeesById;
+    }
+
+    private Map<String, Employee> index(List<Employee> employees) {
+        Map<String, Employee> indexed = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            if (employee != null && employee.getEmployeeId() != null
+                    && indexed.putIfAbsent(employee.getEmployeeId(), new Employee(employee)) != null) {
+                // Keep the first row, the one a scan of the file would find
+                System.err.println("Ignoring duplicate Employee # " + employee.getEmployeeId() + " in " + file.getName()
+                        + ", keeping the first row");
+            }
+        }
+        return indexed;
+    }
+
+    private void rememberFileStamp() {
+        loadedSize = file.length();
+        loadedLastModified = file.lastModified();
+    }
+}
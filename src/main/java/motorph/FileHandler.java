@@ -9,9 +9,11 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Handles all file operations including employee data, attendance records, and user authentication.
@@ -22,6 +24,18 @@ public class FileHandler {
     private static final String EMPLOYEE_FILE = DATA_FOLDER + File.separator + "employees.csv";
     private static final String ATTENDANCE_FILE = DATA_FOLDER + File.separator + "attendance.csv";
     private static final String USER_FILE = DATA_FOLDER + File.separator + "users.csv"; 
+    private static final String ATTENDANCE_JOURNAL_FILE = DATA_FOLDER + File.separator + "attendance-journal.csv";
+    private static final String ATTENDANCE_SNAPSHOT_FILE = DATA_FOLDER + File.separator + "attendance.bin";
+    private static final String SSS_CONTRIBUTION_FILE = DATA_FOLDER + File.separator + "sss-contributions.csv";
+    private static final String PHILHEALTH_CONTRIBUTION_FILE = DATA_FOLDER + File.separator + "philhealth-contributions.csv";
+    private static final String PAGIBIG_CONTRIBUTION_FILE = DATA_FOLDER + File.separator + "pagibig-contributions.csv";
+    private static final String WITHHOLDING_TAX_FILE = DATA_FOLDER + File.separator + "withholding-tax.csv";
+    private static final String HOLIDAY_FILE = DATA_FOLDER + File.separator + "holidays.csv";
+    private static final String YEAR_TO_DATE_FILE = DATA_FOLDER + File.separator + "ytd-totals.csv";
+    private static final String PAYROLL_LEDGER_FILE = DATA_FOLDER + File.separator + "payroll-ledger.bin";
+
+    // Number of journaled punches after which the journal is merged into the attendance file
+    private static final int ATTENDANCE_JOURNAL_COMPACT_THRESHOLD = 500;
     
     // Time formatters for parsing different time formats
     private static final List<DateTimeFormatter> TIME_FORMATTERS = Arrays.asList(
@@ -33,10 +47,36 @@ public class FileHandler {
     public static final String EMPLOYEE_HEADER = "Employee #,Last Name,First Name,Birthday,Address,Phone Number,SSS #,Philhealth #,TIN #,Pag-ibig #,Status,Position,Immediate Supervisor,Basic Salary,Rice Subsidy,Phone Allowance,Clothing Allowance,Gross Semi-monthly Rate,Hourly Rate";
     public static final String ATTENDANCE_HEADER = "Employee #,Last Name,First Name,Date,Log In,Log Out";
     public static final String USER_HEADER = "username,password,role,employeeId"; 
+    public static final String YEAR_TO_DATE_HEADER = "Employee #,Payroll Month,Gross Pay,Basic Pay,Contributions,Withholding Tax";
     
+    // Standard formats for writing attendance dates and times
+    private static final DateTimeFormatter ATTENDANCE_DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final DateTimeFormatter ATTENDANCE_TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
     // Date formatter for employee birthdays
     private static final DateTimeFormatter EMPLOYEE_BIRTHDAY_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
 
+    // Shared by every FileHandler so cached payroll notices changes made through any of them
+    private static final PayrollChangeTracker PAYROLL_CHANGES = new PayrollChangeTracker();
+
+    // Shared by every FileHandler so the employee file is parsed once per process
+    private static final EmployeeRepository EMPLOYEE_REPOSITORY =
+            new EmployeeRepository(EMPLOYEE_FILE, FileHandler::loadEmployeesFromFile);
+
+    // Shared by every FileHandler so the attendance file and its journal are parsed and indexed once per process
+    private static final AttendanceStore ATTENDANCE_STORE =
+            new AttendanceStore(FileHandler::loadAttendanceFromFiles, ATTENDANCE_FILE, ATTENDANCE_JOURNAL_FILE);
+
+    // Shared by every FileHandler so the posted payroll totals are read once per process
+    private static final YearToDateStore YEAR_TO_DATE_STORE = new YearToDateStore(FileHandler::loadYearToDateTotals);
+
+    // Shared by every FileHandler so the ledger directory is scanned once per process
+    private static final PayrollLedger PAYROLL_LEDGER = new PayrollLedger(PAYROLL_LEDGER_FILE);
+
+    // Guards the attendance file and journal against concurrent writes within this process
+    private static final Object ATTENDANCE_WRITE_LOCK = new Object();
+    private static int attendanceJournalEntries = -1; // -1 until counted from the journal file
+
     /**
      * Constructor - ensures data directory and required files exist
      */
@@ -102,8 +142,14 @@ public class FileHandler {
         return null;
     }
     
-    //Reads all employee data from the CSV file
+    //Returns all employees from the shared repository (copies, safe to modify)
     public List<Employee> readEmployees() {
+        return EMPLOYEE_REPOSITORY.findAll();
+    }
+
+    //Reads all employee data from the CSV file
+    private static List<Employee> loadEmployeesFromFile() {
+        PAYROLL_CHANGES.reloaded();
         List<Employee> employees = new ArrayList<>();
         String[] headers = EMPLOYEE_HEADER.split(","); // Get headers for mapping
         //to ensure CSVReader is closed automatically
@@ -138,6 +184,238 @@ public class FileHandler {
     }
 
 
+    //Reads the versions of the SSS contribution schedule from sss-contributions.csv
+    public RateTableHistory readSssContributionRates() {
+        return readRateTableHistory(SSS_CONTRIBUTION_FILE, RateTable.getDefaultSss());
+    }
+
+    //Reads the versions of the PhilHealth contribution schedule from philhealth-contributions.csv
+    public RateTableHistory readPhilHealthContributionRates() {
+        return readRateTableHistory(PHILHEALTH_CONTRIBUTION_FILE, RateTable.getDefaultPhilHealth());
+    }
+
+    //Reads the versions of the Pag-IBIG contribution schedule from pagibig-contributions.csv
+    public RateTableHistory readPagIbigContributionRates() {
+        return readRateTableHistory(PAGIBIG_CONTRIBUTION_FILE, RateTable.getDefaultPagIbig());
+    }
+
+    //Reads the versions of the withholding tax schedule from withholding-tax.csv
+    public RateTableHistory readWithholdingTaxRates() {
+        return readRateTableHistory(WITHHOLDING_TAX_FILE, RateTable.getDefaultWithholdingTax());
+    }
+
+    /**
+     * Reads an effective-dated rate table file.
+     * Each row is one bracket: the date its version takes effect (yyyy-MM-dd), the upper bound,
+     * the fixed amount, the rate, the value the rate applies above and the maximum amount.
+     * A bound starting with "<" excludes the bound itself, and an empty bound marks the last bracket
+     * of a version. Empty amounts and rates are 0, and an empty maximum means no maximum.
+     * @param filePath Path to the file.
+     * @param defaultTable The table to use if the file is missing or invalid.
+     * @return The versions in the file, or a history holding only the default table.
+     */
+    private RateTableHistory readRateTableHistory(String filePath, RateTable defaultTable) {
+        if (!new File(filePath).exists()) {
+            return RateTableHistory.of(defaultTable);
+        }
+        Map<LocalDate, RateTable.Builder> builders = new LinkedHashMap<>();
+        try (CSVReader reader = new CSVReader(new FileReader(filePath))) {
+            String[] nextLine;
+            reader.readNext(); // Skip header
+            while ((nextLine = reader.readNext()) != null) {
+                if (nextLine.length < 6) { // Skips blank lines
+                    continue;
+                }
+                LocalDate effectiveFrom = LocalDate.parse(nextLine[0].trim());
+                String bound = nextLine[1].trim();
+                boolean inclusive = !bound.startsWith("<");
+                bound = inclusive ? bound : bound.substring(1).trim();
+                builders.computeIfAbsent(effectiveFrom, date -> new RateTable.Builder()).add(
+                        parseCentavos(bound, RateTable.NO_LIMIT), inclusive,
+                        parseCentavos(nextLine[2], 0), parseRate(nextLine[3]),
+                        parseCentavos(nextLine[4], 0), parseCentavos(nextLine[5], RateTable.NO_LIMIT));
+            }
+
+            Map<LocalDate, RateTable> versions = new HashMap<>();
+            for (Map.Entry<LocalDate, RateTable.Builder> version : builders.entrySet()) {
+                versions.put(version.getKey(), version.getValue().build());
+            }
+            return new RateTableHistory(versions);
+        } catch (IOException | CsvValidationException e) {
+            System.err.println("Error reading " + filePath + ", using the default rates: " + e.getMessage());
+            e.printStackTrace();
+        } catch (DateTimeParseException | IllegalArgumentException e) { // Includes NumberFormatException
+            System.err.println("Invalid rate table in " + filePath + ", using the default rates: " + e.getMessage());
+        }
+        return RateTableHistory.of(defaultTable);
+    }
+
+    /**
+     * Reads the holiday calendar from holidays.csv.
+     * Each row is a date (yyyy-MM-dd), the holiday's name and its type,
+     * either "Regular Holiday" or "Special Non-Working Day".
+     * @return The calendar, or an empty calendar if the file is missing or invalid.
+     */
+    public HolidayCalendar readHolidayCalendar() {
+        if (!new File(HOLIDAY_FILE).exists()) {
+            return HolidayCalendar.empty();
+        }
+        Map<LocalDate, Byte> holidays = new HashMap<>();
+        try (CSVReader reader = new CSVReader(new FileReader(HOLIDAY_FILE))) {
+            String[] nextLine;
+            reader.readNext(); // Skip header
+            while ((nextLine = reader.readNext()) != null) {
+                if (nextLine.length < 3) { // Skips blank lines
+                    continue;
+                }
+                LocalDate date = LocalDate.parse(nextLine[0].trim());
+                byte dayType = parseHolidayType(nextLine[2]);
+                // A regular holiday wins over a special day listed on the same date
+                holidays.merge(date, dayType, (a, b) -> (byte) Math.max(a, b));
+            }
+            return new HolidayCalendar(holidays);
+        } catch (IOException | CsvValidationException e) {
+            System.err.println("Error reading " + HOLIDAY_FILE + ", paying no holiday premiums: " + e.getMessage());
+            e.printStackTrace();
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            System.err.println("Invalid holiday in " + HOLIDAY_FILE + ", paying no holiday premiums: " + e.getMessage());
+        }
+        return HolidayCalendar.empty();
+    }
+
+    //Parses the type column of holidays.csv
+    private byte parseHolidayType(String text) {
+        String type = text.trim();
+        if (type.equalsIgnoreCase("Regular Holiday")) {
+            return HolidayCalendar.REGULAR_HOLIDAY;
+        }
+        if (type.equalsIgnoreCase("Special Non-Working Day")) {
+            return HolidayCalendar.SPECIAL_NON_WORKING_DAY;
+        }
+        throw new IllegalArgumentException("Unknown holiday type: " + type);
+    }
+
+    //Returns an employee's posted payroll totals for a year so far (zero if nothing was posted)
+    public YearToDateTotals getYearToDateTotals(String employeeId, int year) {
+        return YEAR_TO_DATE_STORE.getYearTotals(employeeId, year);
+    }
+
+    //Returns the totals posted for an employee's payroll month, or null if it was not posted
+    public YearToDateTotals getPostedPayrollTotals(String employeeId, YearMonth month) {
+        return YEAR_TO_DATE_STORE.getPosting(employeeId, month);
+    }
+
+    //Posts (or reposts) the payroll totals of a month to the year-to-date accumulators and saves them.
+    //The totals replace the month's earlier posting as a whole, so employees left out are removed from it
+    public void postPayrollTotals(YearMonth month, Map<String, YearToDateTotals> totalsById) {
+        synchronized (YEAR_TO_DATE_STORE) {
+            YEAR_TO_DATE_STORE.post(month, totalsById);
+            saveYearToDateTotals();
+        }
+    }
+
+    //Reposts the payroll totals of some employees for a month and saves them; a null total removes the posting
+    public void updatePostedPayrollTotals(YearMonth month, Map<String, YearToDateTotals> totalsById) {
+        synchronized (YEAR_TO_DATE_STORE) {
+            YEAR_TO_DATE_STORE.update(month, totalsById);
+            saveYearToDateTotals();
+        }
+    }
+
+    //Rewrites ytd-totals.csv with all postings; the file holds one line per employee month, so it stays small
+    private void saveYearToDateTotals() {
+        if (!writeYearToDateTotals(YEAR_TO_DATE_STORE.getPostings())) {
+            // Forget the unsaved postings so memory matches the file again
+            YEAR_TO_DATE_STORE.invalidate();
+        }
+    }
+
+    //Returns true if a payroll run was finalized for the month
+    public boolean isPayrollFinalized(YearMonth month) {
+        return PAYROLL_LEDGER.isFinalized(month);
+    }
+
+    //Returns the finalized payroll months, oldest first
+    public List<YearMonth> getFinalizedPayrollMonths() {
+        return PAYROLL_LEDGER.getFinalizedMonths();
+    }
+
+    //Reads an employee's finalized payslip weeks, or null if the month was not finalized or the ledger could not be read
+    public List<PayrollResult> readFinalizedPayroll(String employeeId, YearMonth month) {
+        return PAYROLL_LEDGER.read(employeeId, month);
+    }
+
+    //Appends a finalized payroll run to payroll-ledger.bin; returns true if it was saved
+    public boolean savePayrollRun(YearMonth month, Map<String, List<PayrollResult>> resultsById) {
+        return PAYROLL_LEDGER.append(month, resultsById);
+    }
+
+    //Reads the posted payroll totals from ytd-totals.csv, keyed by employee ID and payroll month
+    private static Map<String, Map<YearMonth, YearToDateTotals>> loadYearToDateTotals() {
+        Map<String, Map<YearMonth, YearToDateTotals>> postings = new LinkedHashMap<>();
+        if (!new File(YEAR_TO_DATE_FILE).exists()) {
+            return postings;
+        }
+        try (CSVReader reader = new CSVReader(new FileReader(YEAR_TO_DATE_FILE))) {
+            String[] nextLine;
+            reader.readNext(); // Skip header
+            while ((nextLine = reader.readNext()) != null) {
+                if (nextLine.length < 6) { // Skips blank lines
+                    continue;
+                }
+                try {
+                    YearToDateTotals totals = new YearToDateTotals(
+                            Money.ofPesos(Double.parseDouble(nextLine[2].trim())), Money.ofPesos(Double.parseDouble(nextLine[3].trim())),
+                            Money.ofPesos(Double.parseDouble(nextLine[4].trim())), Money.ofPesos(Double.parseDouble(nextLine[5].trim())));
+                    postings.computeIfAbsent(nextLine[0].trim(), id -> new TreeMap<>())
+                            .put(YearMonth.parse(nextLine[1].trim()), totals);
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    System.err.println("Skipping malformed line in " + YEAR_TO_DATE_FILE + ": " + String.join(",", nextLine));
+                }
+            }
+        } catch (IOException | CsvValidationException e) {
+            System.err.println("Error reading " + YEAR_TO_DATE_FILE + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+        return postings;
+    }
+
+    //Writes all posted payroll totals to ytd-totals.csv, returns false if writing failed
+    private boolean writeYearToDateTotals(Map<String, Map<YearMonth, YearToDateTotals>> postings) {
+        try (AtomicFileWriter out = new AtomicFileWriter(YEAR_TO_DATE_FILE)) {
+            CSVWriter writer = new CSVWriter(out);
+            writer.writeNext(YEAR_TO_DATE_HEADER.split(","));
+            for (Map.Entry<String, Map<YearMonth, YearToDateTotals>> employee : postings.entrySet()) {
+                for (Map.Entry<YearMonth, YearToDateTotals> posting : employee.getValue().entrySet()) {
+                    YearToDateTotals totals = posting.getValue();
+                    writer.writeNext(new String[]{
+                        employee.getKey(), posting.getKey().toString(),
+                        Money.toPlainString(totals.getGrossPay()), Money.toPlainString(totals.getBasicPay()),
+                        Money.toPlainString(totals.getContributions()), Money.toPlainString(totals.getWithholdingTax())
+                    });
+                }
+            }
+            commit(writer, out);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving " + YEAR_TO_DATE_FILE + ": " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    //Parses a peso amount from a rate table cell into centavos, returning the given value for an empty cell
+    private long parseCentavos(String text, long emptyValue) {
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? emptyValue : Money.ofPesos(Double.parseDouble(trimmed));
+    }
+
+    //Parses a rate (e.g. 0.015) from a rate table cell into millionths, 0 for an empty cell
+    private long parseRate(String text) {
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? 0 : Math.round(Double.parseDouble(trimmed) * RateTable.RATE_SCALE);
+    }
+
     private double parseDouble(String value) {
         try {
             return Double.parseDouble(value);
@@ -148,8 +426,58 @@ public class FileHandler {
 
     //Saves all employees to the CSV file, overwriting existing content
     public void saveAllEmployees(List<Employee> employees) {
-        //to ensure CSVWriter is closed automatically
-        try (CSVWriter writer = new CSVWriter(new FileWriter(EMPLOYEE_FILE, false))) { // false to overwrite
+        List<Employee> previousEmployees = readEmployees();
+        if (writeEmployees(employees)) {
+            EMPLOYEE_REPOSITORY.replaceAll(employees);
+            recordPayChanges(previousEmployees, employees);
+        } else {
+            EMPLOYEE_REPOSITORY.invalidate();
+        }
+    }
+
+    //Tells the payroll change tracker which employees were added, removed or had their pay fields changed
+    private static void recordPayChanges(List<Employee> previousEmployees, List<Employee> employees) {
+        Map<String, Employee> previousById = new HashMap<>();
+        for (Employee employee : previousEmployees) {
+            previousById.put(employee.getEmployeeId(), employee);
+        }
+        for (Employee employee : employees) {
+            Employee previous = previousById.remove(employee.getEmployeeId());
+            if (previous == null || !hasSamePay(previous, employee)) {
+                PAYROLL_CHANGES.payChanged(employee.getEmployeeId());
+            }
+        }
+        for (String removedId : previousById.keySet()) {
+            PAYROLL_CHANGES.payChanged(removedId);
+        }
+    }
+
+    //Compares the fields payroll is calculated from
+    private static boolean hasSamePay(Employee a, Employee b) {
+        return Double.compare(a.getBasicSalary(), b.getBasicSalary()) == 0
+                && Double.compare(a.getHourlyRate(), b.getHourlyRate()) == 0
+                && Double.compare(a.getRiceSubsidy(), b.getRiceSubsidy()) == 0
+                && Double.compare(a.getPhoneAllowance(), b.getPhoneAllowance()) == 0
+                && Double.compare(a.getClothingAllowance(), b.getClothingAllowance()) == 0;
+    }
+
+    //Returns the tracker that records changes affecting payroll results
+    public PayrollChangeTracker getPayrollChangeTracker() {
+        return PAYROLL_CHANGES;
+    }
+
+    //Reloads the employee and attendance files if they were edited outside the application,
+    //so the tracker hears about the edit before a cached payroll result is trusted
+    public void refreshPayrollData() {
+        EMPLOYEE_REPOSITORY.refresh();
+        ATTENDANCE_STORE.refresh();
+    }
+
+    //Writes the employees to the CSV file, returns false if writing failed
+    private boolean writeEmployees(List<Employee> employees) {
+        //Writes to a temp file that replaces employees.csv only once it is complete
+        try (AtomicFileWriter out = new AtomicFileWriter(EMPLOYEE_FILE)) {
+            CSVWriter writer = new CSVWriter(out);
             //Writes the header first
             writer.writeNext(EMPLOYEE_HEADER.split(","));
             //Writes each employee's data to the CSV
@@ -175,52 +503,127 @@ public class FileHandler {
                     String.valueOf(emp.getHourlyRate())
                 });
             }
+            commit(writer, out);
+            return true;
         } catch (IOException e) {
             //Prints an error message if saving fails
             System.err.println("Error saving employees file: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
 
-    //Retrieves all attendance records from the CSV file
+    //Retrieves all attendance records in file order from the shared attendance store
     public List<Attendance> getAllAttendanceRecords() {
-        List<Attendance> records = new ArrayList<>();
-        //DateTimeFormatter for parsing date from CSV
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+        return ATTENDANCE_STORE.findAll();
+    }
 
-        //to ensure CSVReader is closed automatically
-        try (CSVReader reader = new CSVReader(new FileReader(ATTENDANCE_FILE))) {
-            String[] nextLine;
-            reader.readNext(); // Skip header line
+    //Retrieves all attendance records of an employee, sorted by date
+    public List<Attendance> getAttendanceRecords(String employeeId) {
+        return ATTENDANCE_STORE.findByEmployee(employeeId);
+    }
 
-            while ((nextLine = reader.readNext()) != null) {
-                try {
-                    //Ensure the line has enough columns before accessing them
-                    if (nextLine.length >= 6) {
-                        String employeeId = nextLine[0];
-                        LocalDate date = LocalDate.parse(nextLine[3], dateFormatter);
-                        LocalTime timeIn = parseTimeWithFallbacks(nextLine[4]);
-                        LocalTime timeOut = parseTimeWithFallbacks(nextLine[5]);
-                        records.add(new Attendance(employeeId, date, timeIn, timeOut));
-                    } else {
-                        System.err.println("Skipping malformed line in attendance.csv (not enough columns): " + String.join(",", nextLine));
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error parsing line in attendance.csv (will be skipped): " + String.join(",", nextLine) + " - " + e.getMessage());
-                }
-            }
-        } catch (IOException | CsvValidationException e) {
-            System.err.println("Error reading attendance file: " + e.getMessage());
-            e.printStackTrace();
+    //Retrieves the attendance records of an employee between two dates (inclusive), sorted by date
+    public List<Attendance> getAttendanceRecords(String employeeId, LocalDate from, LocalDate to) {
+        return ATTENDANCE_STORE.findByEmployee(employeeId, from, to);
+    }
+
+    //Retrieves the attendance records of an employee that belong to a payroll month, sorted by date
+    public List<Attendance> getAttendanceRecordsForPayrollMonth(String employeeId, YearMonth month) {
+        return ATTENDANCE_STORE.findByEmployeeAndPayrollMonth(employeeId, month);
+    }
+
+    //Passes every attendance record to an action without copying it; the record must not be kept
+    public void forEachAttendanceRecord(Consumer<? super AttendanceView> action) {
+        ATTENDANCE_STORE.forEach(action);
+    }
+
+    //Passes an employee's attendance records, sorted by date, to an action without copying them
+    public void forEachAttendanceRecord(String employeeId, Consumer<? super AttendanceView> action) {
+        ATTENDANCE_STORE.forEachByEmployee(employeeId, action);
+    }
+
+    //Retrieves the attendance records of all employees that belong to a payroll month
+    public List<Attendance> getAttendanceRecordsForPayrollMonth(YearMonth month) {
+        return ATTENDANCE_STORE.findByPayrollMonth(month);
+    }
+
+    //Retrieves the work figures (regular, overtime and late minutes) of an employee's records in a payroll month, sorted by date
+    public List<DailyWorkSummary> getWorkSummariesForPayrollMonth(String employeeId, YearMonth month) {
+        return ATTENDANCE_STORE.findSummariesByEmployeeAndPayrollMonth(employeeId, month);
+    }
+
+    //Retrieves the work figures of all employees' records in a payroll month
+    public List<DailyWorkSummary> getWorkSummariesForPayrollMonth(YearMonth month) {
+        return ATTENDANCE_STORE.findSummariesByPayrollMonth(month);
+    }
+
+    //Returns the sorted IDs of all employees with attendance records
+    public List<String> getAttendanceEmployeeIds() {
+        return ATTENDANCE_STORE.findEmployeeIds();
+    }
+
+    //Reads the attendance file followed by the journal, so journaled punches override older rows.
+    //The attendance file is read from its binary snapshot when the snapshot matches the current file.
+    //Rows are packed as they are parsed, so no list of Attendance objects is built on the way.
+    private static PackedAttendance loadAttendanceFromFiles() {
+        PAYROLL_CHANGES.reloaded();
+        PackedAttendance records = AttendanceSnapshot.read(ATTENDANCE_SNAPSHOT_FILE, ATTENDANCE_FILE);
+        if (records == null) {
+            // Stamp the snapshot with the CSV as it was before parsing, so an edit during the parse leaves it stale
+            File csv = new File(ATTENDANCE_FILE);
+            long csvLength = csv.length();
+            long csvLastModified = csv.lastModified();
+            records = new PackedAttendance();
+            readAttendanceFile(ATTENDANCE_FILE, records);
+            AttendanceSnapshot.write(ATTENDANCE_SNAPSHOT_FILE, csvLength, csvLastModified, records);
+        }
+        if (new File(ATTENDANCE_JOURNAL_FILE).exists()) {
+            readAttendanceFile(ATTENDANCE_JOURNAL_FILE, records);
         }
         return records;
     }
 
+    //Reads all attendance records from a CSV file into the given container.
+    //Regular rows are decoded by AttendanceCsvParser; anything else comes back as opencsv columns.
+    private static void readAttendanceFile(String filePath, PackedAttendance records) {
+        try {
+            AttendanceCsvParser.parse(filePath, records, nextLine -> parseAttendanceLine(filePath, nextLine, records));
+        } catch (IOException e) {
+            System.err.println("Error reading attendance file " + filePath + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    //Parses one attendance row split by opencsv, skipping it with a message if it is malformed
+    private static void parseAttendanceLine(String filePath, String[] nextLine, PackedAttendance records) {
+        try {
+            //Ensure the line has enough columns before accessing them
+            if (nextLine.length >= 6) {
+                String employeeId = nextLine[0];
+                LocalDate date = LocalDate.parse(nextLine[3], ATTENDANCE_DATE_FORMATTER);
+                LocalTime timeIn = parseTimeWithFallbacks(nextLine[4]);
+                LocalTime timeOut = parseTimeWithFallbacks(nextLine[5]);
+                records.put(new Attendance(employeeId, date, timeIn, timeOut));
+            } else {
+                System.err.println("Skipping malformed line in " + filePath + " (not enough columns): " + String.join(",", nextLine));
+            }
+        } catch (Exception e) {
+            System.err.println("Error parsing line in " + filePath + " (will be skipped): " + String.join(",", nextLine) + " - " + e.getMessage());
+        }
+    }
+
 
-    private LocalTime parseTimeWithFallbacks(String timeStr) {
+    private static LocalTime parseTimeWithFallbacks(String timeStr) {
         if (timeStr == null || timeStr.isEmpty()) {
             return null;
         }
+        // Plain "H:mm" and "HH:mm" times are parsed directly, without trying formatters
+        int minuteOfDay = TimeOfDay.parseMinuteOfDay(timeStr);
+        if (minuteOfDay >= 0) {
+            return TimeOfDay.toLocalTime(minuteOfDay);
+        }
+        // Anything else (e.g. "24:00") keeps the formatters' rules
         for (DateTimeFormatter formatter : TIME_FORMATTERS) {
             try {
                 return LocalTime.parse(timeStr, formatter);
@@ -231,24 +634,77 @@ public class FileHandler {
     }
 
 
-    //Saves or updates a single attendance record
+    //Saves or updates a single attendance record by appending it to the attendance journal.
+    //A journaled record replaces any earlier record of the same employee on the same date.
     public void saveAttendanceRecord(Attendance recordToSave) {
-        List<Attendance> records = getAllAttendanceRecords();
-        boolean recordFound = false;
-        for (int i = 0; i < records.size(); i++) {
-            Attendance record = records.get(i);
-            if (record.getEmployeeId().equals(recordToSave.getEmployeeId()) && record.getDate().equals(recordToSave.getDate())) {
-                records.set(i, recordToSave);
-                recordFound = true;
-                break;
+        synchronized (ATTENDANCE_WRITE_LOCK) {
+            ATTENDANCE_STORE.refresh();
+            if (!appendToAttendanceJournal(recordToSave)) {
+                ATTENDANCE_STORE.invalidate();
+                return;
+            }
+            ATTENDANCE_STORE.put(recordToSave);
+            PAYROLL_CHANGES.attendanceChanged(recordToSave.getEmployeeId(), recordToSave.getDate());
+            if (++attendanceJournalEntries >= ATTENDANCE_JOURNAL_COMPACT_THRESHOLD) {
+                compactAttendanceJournal();
             }
         }
-        if (!recordFound) {
-            records.add(recordToSave);
+    }
+
+    //Merges the attendance journal into the attendance file and removes the journal
+    public void compactAttendanceJournal() {
+        synchronized (ATTENDANCE_WRITE_LOCK) {
+            List<Attendance> records = ATTENDANCE_STORE.findAll();
+            // Sort records before saving to maintain a consistent order.
+            records.sort(Comparator.comparing(Attendance::getEmployeeId).thenComparing(Attendance::getDate));
+            saveAllAttendanceRecords(records);
+        }
+    }
+
+    //Appends a single record to the attendance journal and forces it to the disk,
+    //returns false if writing failed
+    private boolean appendToAttendanceJournal(Attendance record) {
+        File journal = new File(ATTENDANCE_JOURNAL_FILE);
+        boolean isNewJournal = !journal.exists();
+        if (attendanceJournalEntries < 0) {
+            attendanceJournalEntries = isNewJournal ? 0 : countAttendanceJournalEntries();
+        }
+        Employee employee = getEmployeeById(record.getEmployeeId());
+        if (employee == null) {
+            System.err.println("Warning: Employee details not found for ID: " + record.getEmployeeId() + " when saving attendance.");
+        }
+        try (FileOutputStream stream = new FileOutputStream(journal, true); // true to append
+             CSVWriter writer = new CSVWriter(new OutputStreamWriter(stream))) {
+            if (isNewJournal) {
+                writer.writeNext(ATTENDANCE_HEADER.split(","));
+            }
+            writer.writeNext(toAttendanceRow(record, employee));
+            // writeNext keeps write errors to itself; checkError flushes and reports them
+            if (writer.checkError()) {
+                System.err.println("Error appending to attendance journal: the record could not be written");
+                return false;
+            }
+            // The record only counts as saved once it survives a crash
+            stream.getFD().sync();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error appending to attendance journal: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    //Counts the records in an existing attendance journal (excluding the header)
+    private int countAttendanceJournalEntries() {
+        try (BufferedReader reader = new BufferedReader(new FileReader(ATTENDANCE_JOURNAL_FILE))) {
+            int lines = 0;
+            while (reader.readLine() != null) {
+                lines++;
+            }
+            return Math.max(0, lines - 1);
+        } catch (IOException e) {
+            return 0;
         }
-        // Sort records before saving to maintain a consistent order.
-        records.sort(Comparator.comparing(Attendance::getEmployeeId).thenComparing(Attendance::getDate));
-        saveAllAttendanceRecords(records);
     }
 
 
@@ -258,49 +714,84 @@ public class FileHandler {
     }
 
 
-    //Saves all attendance records to the CSV, overwriting existing content
+    //Saves all attendance records to the CSV, overwriting existing content and clearing the journal
     private void saveAllAttendanceRecords(List<Attendance> records) {
-        try (CSVWriter writer = new CSVWriter(new FileWriter(ATTENDANCE_FILE, false))) { // false to overwrite
-            writer.writeNext(ATTENDANCE_HEADER.split(",")); // Write header
-            DateTimeFormatter timeFormatterOutput = DateTimeFormatter.ofPattern("HH:mm"); // Standard format for writing time
-            DateTimeFormatter dateFormatterOutput = DateTimeFormatter.ofPattern("MM/dd/yyyy"); // Standard format for writing date
-
-            for (Attendance record : records) {
-                Employee employee = getEmployeeById(record.getEmployeeId()); // Fetch employee details
-                String lastName = "";
-                String firstName = "";
-                if (employee != null) {
-                    lastName = employee.getLastName();
-                    firstName = employee.getFirstName();
-                } else {
-                    // Optionally log or handle cases where employee details are not found for an ID
-                    System.err.println("Warning: Employee details not found for ID: " + record.getEmployeeId() + " when saving attendance.");
-                }
-                writer.writeNext(new String[]{
-                    record.getEmployeeId(),
-                    lastName, // Last Name
-                    firstName, // First Name
-                    record.getDate().format(dateFormatterOutput),
-                    record.getTimeIn() != null ? record.getTimeIn().format(timeFormatterOutput) : "", // Handle null timeIn
-                    record.getTimeOut() != null ? record.getTimeOut().format(timeFormatterOutput) : "" // Handle null timeOut
-                });
+        synchronized (ATTENDANCE_WRITE_LOCK) {
+            if (writeAttendanceRecords(records)) {
+                // Stamp the snapshot with the file just written, before packing gives anyone time to change it
+                File csv = new File(ATTENDANCE_FILE);
+                long csvLength = csv.length();
+                long csvLastModified = csv.lastModified();
+                PackedAttendance packed = PackedAttendance.of(records);
+                AttendanceSnapshot.write(ATTENDANCE_SNAPSHOT_FILE, csvLength, csvLastModified, packed);
+                // Safe to delete now; replaying a stale journal over the new file would not change it
+                new File(ATTENDANCE_JOURNAL_FILE).delete();
+                attendanceJournalEntries = 0;
+                ATTENDANCE_STORE.replaceAll(packed);
+            } else {
+                ATTENDANCE_STORE.invalidate();
             }
+        }
+    }
+
+    //Writes the attendance records to the CSV file, returns false if writing failed
+    private boolean writeAttendanceRecords(List<Attendance> records) {
+        //Writes to a temp file that replaces attendance.csv only once it is complete
+        try (AtomicFileWriter out = new AtomicFileWriter(ATTENDANCE_FILE)) {
+            CSVWriter writer = new CSVWriter(out);
+            writer.writeNext(ATTENDANCE_HEADER.split(",")); // Write header
+            writeAttendanceRows(writer, records);
+            commit(writer, out);
+            return true;
         } catch (IOException e) {
             System.err.println("Error saving attendance records: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
 
+    //Writes attendance records as CSV rows (without the header), resolving the names from one ID map
+    //instead of looking up the employee for every row. Package-private for the benchmarks.
+    void writeAttendanceRows(CSVWriter writer, List<Attendance> records) {
+        Map<String, Employee> employeesById = new HashMap<>();
+        for (Employee employee : readEmployees()) {
+            employeesById.put(employee.getEmployeeId(), employee);
+        }
+        Set<String> missingEmployeeIds = new HashSet<>();
+        for (Attendance record : records) {
+            Employee employee = employeesById.get(record.getEmployeeId());
+            if (employee == null && missingEmployeeIds.add(record.getEmployeeId())) {
+                System.err.println("Warning: Employee details not found for ID: " + record.getEmployeeId() + " when saving attendance.");
+            }
+            writer.writeNext(toAttendanceRow(record, employee));
+        }
+    }
+
+    //Replaces the target file with what was written, unless the CSVWriter swallowed a write error
+    private static void commit(CSVWriter writer, AtomicFileWriter out) throws IOException {
+        if (writer.checkError()) {
+            throw writer.getException() != null ? writer.getException() : new IOException("Error writing CSV data");
+        }
+        out.commit();
+    }
+
+    //Converts an attendance record into a CSV row, using the employee (may be null) for the name columns
+    private String[] toAttendanceRow(Attendance record, Employee employee) {
+        String lastName = employee != null ? employee.getLastName() : "";
+        String firstName = employee != null ? employee.getFirstName() : "";
+        return new String[]{
+            record.getEmployeeId(),
+            lastName, // Last Name
+            firstName, // First Name
+            record.getDate().format(ATTENDANCE_DATE_FORMATTER),
+            record.getTimeIn() != null ? record.getTimeIn().format(ATTENDANCE_TIME_FORMATTER) : "", // Handle null timeIn
+            record.getTimeOut() != null ? record.getTimeOut().format(ATTENDANCE_TIME_FORMATTER) : "" // Handle null timeOut
+        };
+    }
+
     //Retrieves an employee by their ID
     public Employee getEmployeeById(String employeeId) {
-        List<Employee> employees = readEmployees();
-        if (employees == null) { 
-             return null;
-        }
-        return employees.stream()
-                .filter(emp -> emp != null && emp.getEmployeeId().equals(employeeId)) // Added null check for emp
-                .findFirst()
-                .orElse(null);
+        return EMPLOYEE_REPOSITORY.findById(employeeId);
     }
 
     //Updates details of an existing employee in the list and saves it
@@ -316,6 +807,9 @@ public class FileHandler {
 
     //Deletes an employee by ID and updates the CSV
     public boolean deleteEmployee(String id) {
+        if (!EMPLOYEE_REPOSITORY.contains(id)) {
+            return false;
+        }
         List<Employee> employees = readEmployees();
         boolean removed = employees.removeIf(emp -> emp.getEmployeeId().equals(id));
         if (removed) {
@@ -326,11 +820,7 @@ public class FileHandler {
 
     //Finds an attendance record for a specific employee on a specific date
     public Attendance findAttendanceRecord(String employeeId, LocalDate date) {
-        List<Attendance> records = getAllAttendanceRecords();
-        return records.stream()
-                .filter(r -> r.getEmployeeId().equals(employeeId) && r.getDate().equals(date))
-                .findFirst()
-                .orElse(null);
+        return ATTENDANCE_STORE.find(employeeId, date);
     }
 
     //Returns the path to the attendance CSV file
@@ -345,8 +835,7 @@ public class FileHandler {
 
 
     public int getEmployeeCount() {
-        List<Employee> employees = readEmployees();
-        return employees != null ? employees.size() : 0;
+        return EMPLOYEE_REPOSITORY.count();
     }
 
     public boolean updateEmployee(Employee updatedEmployee) {
@@ -0,0 +1,75 @@
+package motorph;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The regular holidays and special non-working days that earn premium pay.
+ * The holidays are compiled into one byte per day between the first and the last holiday,
+ * indexed by epoch day, so finding the type of a day is a single array read.
+ * Days outside that range, and days not listed, are ordinary days.
+ */
+public class HolidayCalendar {
+    public static final byte ORDINARY_DAY = 0;
+    public static final byte SPECIAL_NON_WORKING_DAY = 1;
+    public static final byte REGULAR_HOLIDAY = 2;
+
+    private final long firstDay;
+    private final byte[] dayTypes;
+    private final int holidayCount;
+
+    /**
+     * Compiles a calendar.
+     * @param holidays The day type of each holiday ({@link #SPECIAL_NON_WORKING_DAY} or {@link #REGULAR_HOLIDAY}).
+     * @throws IllegalArgumentException If a day type is not one of those.
+     */
+    public HolidayCalendar(Map<LocalDate, Byte> holidays) {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (Map.Entry<LocalDate, Byte> holiday : holidays.entrySet()) {
+            byte dayType = holiday.getValue();
+            if (dayType != SPECIAL_NON_WORKING_DAY && dayType != REGULAR_HOLIDAY) {
+                throw new IllegalArgumentException("Unknown holiday type " + dayType + " on " + holiday.getKey());
+            }
+            long epochDay = holiday.getKey().toEpochDay();
+            first = Math.min(first, epochDay);
+            last = Math.max(last, epochDay);
+        }
+        this.firstDay = holidays.isEmpty() ? 0 : first;
+        this.dayTypes = new byte[holidays.isEmpty() ? 0 : Math.toIntExact(last - first + 1)];
+        for (Map.Entry<LocalDate, Byte> holiday : holidays.entrySet()) {
+            dayTypes[(int) (holiday.getKey().toEpochDay() - firstDay)] = holiday.getValue();
+        }
+        this.holidayCount = holidays.size();
+    }
+
+    /**
+     * Returns a calendar without holidays.
+     */
+    public static HolidayCalendar empty() {
+        return new HolidayCalendar(Collections.emptyMap());
+    }
+
+    /**
+     * Returns the type of a day: {@link #ORDINARY_DAY}, {@link #SPECIAL_NON_WORKING_DAY} or {@link #REGULAR_HOLIDAY}.
+     */
+    public int getDayType(long epochDay) {
+        long index = epochDay - firstDay;
+        return index >= 0 && index < dayTypes.length ? dayTypes[(int) index] : ORDINARY_DAY;
+    }
+
+    /**
+     * Returns the type of a day, see {@link #getDayType(long)}.
+     */
+    public int getDayType(LocalDate date) {
+        return getDayType(date.toEpochDay());
+    }
+
+    /**
+     * Returns the number of holidays.
+     */
+    public int size() {
+        return holidayCount;
+    }
+}
@@ -0,0 +1,54 @@
+package motorph;
+
+/**
+ * Helpers for money amounts stored as whole centavos in a long.
+ * Payroll amounts are computed with integer arithmetic so totals add up exactly;
+ * every division is rounded explicitly to the nearest centavo, with halves rounded
+ * away from zero (like BigDecimal's HALF_UP), and nothing is allocated.
+ */
+public final class Money {
+    public static final long CENTAVOS_PER_PESO = 100;
+
+    private Money() {}
+
+    /**
+     * Converts an amount in pesos (e.g. a salary read from the employee file) to centavos,
+     * rounding to the nearest centavo.
+     */
+    public static long ofPesos(double pesos) {
+        return pesos >= 0 ? Math.round(pesos * CENTAVOS_PER_PESO) : -Math.round(-pesos * CENTAVOS_PER_PESO);
+    }
+
+    /**
+     * Converts centavos to pesos, for display only.
+     */
+    public static double toPesos(long centavos) {
+        return centavos / (double) CENTAVOS_PER_PESO;
+    }
+
+    /**
+     * Formats centavos as a plain peso amount with two decimals and no grouping, e.g. "-1234.50",
+     * independent of the locale; used for the data files.
+     */
+    public static String toPlainString(long centavos) {
+        long pesos = Math.abs(centavos / CENTAVOS_PER_PESO);
+        long rest = Math.abs(centavos % CENTAVOS_PER_PESO);
+        return (centavos < 0 ? "-" : "") + pesos + (rest < 10 ? ".0" : ".") + rest;
+    }
+
+    /**
+     * Returns amount * multiplier / divisor, rounded to the nearest whole number with halves away from zero.
+     * E.g. the pay for some minutes is {@code multiplyAndDivide(hourlyRate, minutes, 60)}.
+     * @param divisor Must be positive.
+     * @throws ArithmeticException If amount * multiplier overflows a long.
+     */
+    public static long multiplyAndDivide(long amount, long multiplier, long divisor) {
+        long product = Math.multiplyExact(amount, multiplier);
+        long quotient = product / divisor;
+        long remainder = product % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += product < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
@@ -4,7 +4,6 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.WeekFields;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -366,10 +365,7 @@ public class MotorPH {
             return;
         }
 
-        List<Attendance> allRecords = fileHandler.getAllAttendanceRecords().stream()
-                .filter(r -> r.getEmployeeId().equals(employeeId))
-                .sorted(Comparator.comparing(Attendance::getDate))
-                .collect(Collectors.toList());
+        List<Attendance> allRecords = fileHandler.getAttendanceRecords(employeeId);
 
         if (allRecords.isEmpty()) {
             System.out.println("No attendance records found for this employee.");
@@ -510,6 +506,7 @@ public class MotorPH {
             printSectionHeader("PAYROLL CALCULATION");
             System.out.println("1. Calculate for Specific Employee");
             System.out.println("2. Calculate for All Employees");
+            System.out.println("3. Finalize Payroll Month");
             System.out.println("0. Back to Main Menu");
             System.out.print("Enter your choice: ");
             String choice = scanner.nextLine();
@@ -521,6 +518,9 @@ public class MotorPH {
                 case "2":
                     calculateAllEmployeesPayroll(scanner, payroll, fileHandler);
                     break;
+                case "3":
+                    finalizePayrollMonth(scanner, payroll);
+                    break;
                 case "0":
                     return;
                 default:
@@ -599,4 +599,44 @@ public class MotorPH {
         payroll.calculateAllWeeklyPayroll(selectedMonth, weekChoice == 5 ? 0 : weekChoice);
         printSectionFooter();
     }
+
+    /**
+     * Guides a user through finalizing a payroll month, which saves its payslips to the payroll ledger.
+     * @param scanner The Scanner for user input.
+     * @param payroll The PayrollCalculator instance.
+     */
+    private static void finalizePayrollMonth(Scanner scanner, PayrollCalculator payroll) {
+        printSectionHeader("FINALIZE PAYROLL MONTH");
+        List<YearMonth> availableMonths = payroll.getAllAvailableMonths();
+
+        if (availableMonths.isEmpty()) {
+            System.out.println("No attendance records found.");
+            printSectionFooter();
+            return;
+        }
+
+        System.out.println("\nAvailable Months:");
+        for (int i = 0; i < availableMonths.size(); i++) {
+            YearMonth month = availableMonths.get(i);
+            System.out.printf("%d. %s%s%n", i+1, month.format(DateTimeFormatter.ofPattern("MMMM yyyy")),
+                    payroll.isFinalized(month) ? " (finalized)" : "");
+        }
+        System.out.print("Select month (number): ");
+        int monthChoice = Integer.parseInt(scanner.nextLine()) - 1;
+        YearMonth selectedMonth = availableMonths.get(monthChoice);
+
+        if (payroll.isFinalized(selectedMonth)) {
+            System.out.print("This month is already finalized. Replace it with a new run? (y/n): ");
+            if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                printSectionFooter();
+                return;
+            }
+        }
+        if (payroll.finalizePayroll(selectedMonth)) {
+            System.out.println("Payroll for " + selectedMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")) + " finalized.");
+        } else {
+            System.out.println("Could not save the payroll run. Please try again.");
+        }
+        printSectionFooter();
+    }
 }
\ No newline at end of file
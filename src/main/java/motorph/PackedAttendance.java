@@ -0,0 +1,360 @@
+package motorph;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact, column-oriented container of attendance records.
+ * Instead of one Attendance object (with its own ID, date and time objects) per punch,
+ * each record is a row across four primitive arrays: employee index (int), date
+ * (epoch day, int) and log in / log out (minutes since midnight, short, -1 when empty).
+ * Next to them, each row keeps its {@link DailyWorkSummary} figures, derived once when the row
+ * is added or overwritten: regular, overtime, late and night minutes (short) and a rest-day flag.
+ * That is 21 bytes per record plus 4 bytes for the per-employee, date-sorted row index.
+ * Rows keep the order they were added in, which is the file order.
+ * Records can be read through a reusable {@link Cursor} (an {@link AttendanceView} that does
+ * not allocate) or copied out as regular Attendance objects.
+ * Loaders add rows straight from the decoded columns, so no Attendance object is built per punch.
+ * Times are kept to the minute, the same precision as the attendance file.
+ */
+public class PackedAttendance {
+    private static final short NO_TIME = -1;
+
+    // Employee IDs by employee index
+    private final List<String> employeeIds = new ArrayList<>();
+    private final Map<String, Integer> employeeIndexes = new HashMap<>();
+
+    // Columns, one entry per row, in the order the rows were added
+    private int size;
+    private int[] employeeColumn = new int[1024];
+    private int[] epochDayColumn = new int[1024];
+    private short[] timeInColumn = new short[1024];
+    private short[] timeOutColumn = new short[1024];
+    private short[] regularMinutesColumn = new short[1024];
+    private short[] overtimeMinutesColumn = new short[1024];
+    private short[] lateMinutesColumn = new short[1024];
+    private short[] nightMinutesColumn = new short[1024];
+    private boolean[] restDayColumn = new boolean[1024];
+
+    // Row numbers of each employee, sorted by date
+    private int[][] rowsByEmployee = new int[64][];
+    private int[] rowCounts = new int[64];
+
+    // One shared LocalDate per day between firstCachedDay and firstCachedDay + dateCache.length
+    private long firstCachedDay;
+    private LocalDate[] dateCache = new LocalDate[0];
+
+    /**
+     * Returns the number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a record, or overwrites the row of the same employee on the same date in place.
+     * @param record A record with an employee ID and a date.
+     */
+    public void put(Attendance record) {
+        put(record.getEmployeeId(), (int) record.getDate().toEpochDay(),
+                toMinutes(record.getTimeIn()), toMinutes(record.getTimeOut()));
+    }
+
+    /**
+     * Adds a record given as columns, or overwrites the row of the same employee on the same date in place.
+     * @param employeeId The employee's ID.
+     * @param epochDay The date as an epoch day.
+     * @param timeIn The log in time in minutes since midnight, -1 when empty.
+     * @param timeOut The log out time in minutes since midnight, -1 when empty.
+     */
+    public void put(String employeeId, int epochDay, int timeIn, int timeOut) {
+        put(indexOf(employeeId, true), epochDay, (short) timeIn, (short) timeOut);
+    }
+
+    private void put(int employee, int epochDay, short timeIn, short timeOut) {
+        int[] rows = rowsByEmployee[employee];
+        int count = rowCounts[employee];
+        int position = searchDay(rows, count, epochDay);
+        if (position >= 0) {
+            int row = rows[position];
+            timeInColumn[row] = timeIn;
+            timeOutColumn[row] = timeOut;
+            summarize(row);
+            return;
+        }
+
+        int row = appendRow(employee, epochDay, timeIn, timeOut);
+        summarize(row);
+        int insertAt = -position - 1;
+        if (count == rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(16, rows.length * 2));
+            rowsByEmployee[employee] = rows;
+        }
+        // New punches are normally the latest date, so this rarely moves anything
+        System.arraycopy(rows, insertAt, rows, insertAt + 1, count - insertAt);
+        rows[insertAt] = row;
+        rowCounts[employee] = count + 1;
+    }
+
+    /**
+     * Packs a list of records; a later record for the same employee and date replaces the earlier one.
+     */
+    public static PackedAttendance of(List<Attendance> records) {
+        PackedAttendance packed = new PackedAttendance();
+        for (Attendance record : records) {
+            if (record != null && record.getEmployeeId() != null && record.getDate() != null) {
+                packed.put(record);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the row of an employee's record on a date, or -1 if there is none.
+     */
+    public int findRow(String employeeId, LocalDate date) {
+        int employee = indexOf(employeeId, false);
+        if (employee < 0) {
+            return -1;
+        }
+        int position = searchDay(rowsByEmployee[employee], rowCounts[employee], (int) date.toEpochDay());
+        return position >= 0 ? rowsByEmployee[employee][position] : -1;
+    }
+
+    /**
+     * Returns the rows of an employee's records between two dates (both inclusive), sorted by date.
+     */
+    public int[] findRows(String employeeId, LocalDate from, LocalDate to) {
+        int employee = indexOf(employeeId, false);
+        if (employee < 0 || from.isAfter(to)) {
+            return new int[0];
+        }
+        int[] rows = rowsByEmployee[employee];
+        int count = rowCounts[employee];
+        int start = searchDay(rows, count, (int) from.toEpochDay());
+        int end = searchDay(rows, count, (int) to.toEpochDay());
+        start = start >= 0 ? start : -start - 1;
+        end = end >= 0 ? end + 1 : -end - 1;
+        return Arrays.copyOfRange(rows, start, end);
+    }
+
+    /**
+     * Returns all rows of an employee, sorted by date.
+     */
+    public int[] findRows(String employeeId) {
+        int employee = indexOf(employeeId, false);
+        return employee >= 0 ? Arrays.copyOf(rowsByEmployee[employee], rowCounts[employee]) : new int[0];
+    }
+
+    /**
+     * Returns the IDs of all employees with at least one record, in the order first seen.
+     */
+    public List<String> getEmployeeIds() {
+        return new ArrayList<>(employeeIds);
+    }
+
+    /**
+     * Copies one row out as a regular Attendance object.
+     */
+    public Attendance get(int row) {
+        return new Attendance(employeeIds.get(employeeColumn[row]), dateOf(epochDayColumn[row]),
+                timeOf(timeInColumn[row]), timeOf(timeOutColumn[row]));
+    }
+
+    /**
+     * Copies the given rows out as regular Attendance objects.
+     */
+    public List<Attendance> get(int[] rows) {
+        List<Attendance> records = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            records.add(get(row));
+        }
+        return records;
+    }
+
+    /**
+     * Returns the work figures of one row.
+     */
+    public DailyWorkSummary getSummary(int row) {
+        return new DailyWorkSummary(employeeIds.get(employeeColumn[row]), dateOf(epochDayColumn[row]),
+                regularMinutesColumn[row], overtimeMinutesColumn[row], lateMinutesColumn[row],
+                nightMinutesColumn[row], restDayColumn[row]);
+    }
+
+    /**
+     * Returns the work figures of the given rows.
+     */
+    public List<DailyWorkSummary> getSummaries(int[] rows) {
+        List<DailyWorkSummary> summaries = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            summaries.add(getSummary(row));
+        }
+        return summaries;
+    }
+
+    /**
+     * Copies all rows out as regular Attendance objects, in the order they were added.
+     */
+    public List<Attendance> toList() {
+        List<Attendance> records = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            records.add(get(row));
+        }
+        return records;
+    }
+
+    /**
+     * Returns a new cursor over this container.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * A read-only view of one row at a time.
+     * Move it with {@link #moveTo(int)}; the getters always read the current row,
+     * so keep a copy (see {@link PackedAttendance#get(int)}) if a record has to outlive the move.
+     */
+    public class Cursor implements AttendanceView {
+        private int row = -1;
+
+        /**
+         * Points the cursor at a row and returns it, for use in loops.
+         */
+        public Cursor moveTo(int row) {
+            this.row = row;
+            return this;
+        }
+
+        public int getRow() { return row; }
+        public int getEpochDay() { return epochDayColumn[row]; }
+        public int getTimeInMinutes() { return timeInColumn[row]; }
+        public int getTimeOutMinutes() { return timeOutColumn[row]; }
+        public int getRegularMinutes() { return regularMinutesColumn[row]; }
+        public int getOvertimeMinutes() { return overtimeMinutesColumn[row]; }
+        public int getLateMinutes() { return lateMinutesColumn[row]; }
+        public int getNightMinutes() { return nightMinutesColumn[row]; }
+        public boolean isRestDay() { return restDayColumn[row]; }
+
+        @Override public String getEmployeeId() { return employeeIds.get(employeeColumn[row]); }
+        @Override public LocalDate getDate() { return dateOf(epochDayColumn[row]); }
+        @Override public LocalTime getTimeIn() { return timeOf(timeInColumn[row]); }
+        @Override public LocalTime getTimeOut() { return timeOf(timeOutColumn[row]); }
+    }
+
+    private int indexOf(String employeeId, boolean create) {
+        Integer index = employeeIndexes.get(employeeId);
+        if (index != null) {
+            return index;
+        }
+        if (!create) {
+            return -1;
+        }
+        int employee = employeeIds.size();
+        employeeIds.add(employeeId);
+        employeeIndexes.put(employeeId, employee);
+        if (employee == rowsByEmployee.length) {
+            rowsByEmployee = Arrays.copyOf(rowsByEmployee, employee * 2);
+            rowCounts = Arrays.copyOf(rowCounts, employee * 2);
+        }
+        rowsByEmployee[employee] = new int[16];
+        return employee;
+    }
+
+    private int appendRow(int employee, int epochDay, short timeIn, short timeOut) {
+        if (size == employeeColumn.length) {
+            int capacity = size + (size >> 1);
+            employeeColumn = Arrays.copyOf(employeeColumn, capacity);
+            epochDayColumn = Arrays.copyOf(epochDayColumn, capacity);
+            timeInColumn = Arrays.copyOf(timeInColumn, capacity);
+            timeOutColumn = Arrays.copyOf(timeOutColumn, capacity);
+            regularMinutesColumn = Arrays.copyOf(regularMinutesColumn, capacity);
+            overtimeMinutesColumn = Arrays.copyOf(overtimeMinutesColumn, capacity);
+            lateMinutesColumn = Arrays.copyOf(lateMinutesColumn, capacity);
+            nightMinutesColumn = Arrays.copyOf(nightMinutesColumn, capacity);
+            restDayColumn = Arrays.copyOf(restDayColumn, capacity);
+        }
+        employeeColumn[size] = employee;
+        epochDayColumn[size] = epochDay;
+        timeInColumn[size] = timeIn;
+        timeOutColumn[size] = timeOut;
+        return size++;
+    }
+
+    // Derives the work figures of a row from its times; they fit in a short since a day has 1,440 minutes
+    private void summarize(int row) {
+        short timeIn = timeInColumn[row];
+        short timeOut = timeOutColumn[row];
+        regularMinutesColumn[row] = (short) DailyWorkSummary.calculateRegularMinutes(timeIn, timeOut);
+        overtimeMinutesColumn[row] = (short) DailyWorkSummary.calculateOvertimeMinutes(timeIn, timeOut);
+        lateMinutesColumn[row] = (short) DailyWorkSummary.calculateLateMinutes(timeIn, timeOut);
+        nightMinutesColumn[row] = (short) DailyWorkSummary.calculateNightMinutes(timeIn, timeOut);
+        restDayColumn[row] = DailyWorkSummary.isRestDay(dateOf(epochDayColumn[row]));
+    }
+
+    /**
+     * Binary search over an employee's date-sorted rows.
+     * @return The position of the day, or (-(insertion point) - 1) like Arrays.binarySearch.
+     */
+    private int searchDay(int[] rows, int count, int epochDay) {
+        int low = 0;
+        int high = count - 1;
+        // Appending the latest day is the common case, check it before searching
+        if (count > 0 && epochDayColumn[rows[high]] < epochDay) {
+            return -count - 1;
+        }
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int day = epochDayColumn[rows[middle]];
+            if (day < epochDay) {
+                low = middle + 1;
+            } else if (day > epochDay) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private LocalDate dateOf(int epochDay) {
+        int offset = (int) (epochDay - firstCachedDay);
+        if (offset < 0 || offset >= dateCache.length) {
+            growDateCache(epochDay);
+            offset = (int) (epochDay - firstCachedDay);
+        }
+        LocalDate date = dateCache[offset];
+        if (date == null) {
+            date = LocalDate.ofEpochDay(epochDay);
+            dateCache[offset] = date;
+        }
+        return date;
+    }
+
+    private void growDateCache(int epochDay) {
+        if (dateCache.length == 0) {
+            firstCachedDay = epochDay - 366;
+            dateCache = new LocalDate[2 * 366];
+            return;
+        }
+        long first = Math.min(firstCachedDay, epochDay - 366L);
+        long last = Math.max(firstCachedDay + dateCache.length, epochDay + 366L);
+        LocalDate[] grown = new LocalDate[(int) (last - first)];
+        System.arraycopy(dateCache, 0, grown, (int) (firstCachedDay - first), dateCache.length);
+        firstCachedDay = first;
+        dateCache = grown;
+    }
+
+    private static short toMinutes(LocalTime time) {
+        return time != null ? (short) TimeOfDay.toMinuteOfDay(time) : NO_TIME;
+    }
+
+    private static LocalTime timeOf(short minutes) {
+        return minutes >= 0 ? TimeOfDay.toLocalTime(minutes) : null;
+    }
+}
@@ -1,10 +1,16 @@
 package motorph;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -17,49 +23,82 @@ import java.util.stream.Collectors;
  */
 public class PayrollCalculator {
     private FileHandler fileHandler;
+    // Runs the per-employee calculations of all-employee payroll runs
+    private Executor executor = ForkJoinPool.commonPool();
+    // Versions of the contribution and tax tables, and the tables already resolved per pay date
+    private final RateTableHistory sssRates;
+    private final RateTableHistory philHealthRates;
+    private final RateTableHistory pagIbigRates;
+    private final RateTableHistory withholdingTaxRates;
+    // Regular holidays and special non-working days, from data/holidays.csv
+    private final HolidayCalendar holidays;
+    private final Map<LocalDate, PayrollRates> ratesByPayDate = new ConcurrentHashMap<>();
+    // Statutory deductions per distinct salary and rate version
+    private final DeductionCache deductionCache = new DeductionCache();
+    // Payroll already computed per employee and month, until the data behind it changes
+    private final PayrollResultCache resultCache;
 
     public PayrollCalculator(FileHandler fileHandler) {
+        this(fileHandler, fileHandler.readHolidayCalendar());
+    }
+
+    // Uses the given holidays instead of data/holidays.csv, for tests
+    PayrollCalculator(FileHandler fileHandler, HolidayCalendar holidays) {
         this.fileHandler = fileHandler;
+        this.sssRates = fileHandler.readSssContributionRates();
+        this.philHealthRates = fileHandler.readPhilHealthContributionRates();
+        this.pagIbigRates = fileHandler.readPagIbigContributionRates();
+        this.withholdingTaxRates = fileHandler.readWithholdingTaxRates();
+        this.holidays = holidays;
+        this.resultCache = new PayrollResultCache(fileHandler.getPayrollChangeTracker(), PayrollResultCache.DEFAULT_CAPACITY);
     }
 
-    // Constants for payroll calculation rules
-    private static final double REGULAR_DAY_OT_MULTIPLIER = 1.25;    // 125% for weekdays
-    private static final double REST_DAY_OT_MULTIPLIER = 1.30;       // 130% for weekends
-    private static final LocalTime WORK_START_TIME = LocalTime.of(8, 0);
-    private static final int GRACE_PERIOD_MINUTES = 10;
-    private static final int REGULAR_HOURS_PER_DAY = 8;
-    private static final int MINUTES_PER_HOUR = 60;
+    /**
+     * Sets the executor that all-employee payroll runs spread their per-employee work over.
+     * Defaults to the common fork-join pool; on Java 21+ a virtual-thread executor can be passed,
+     * and a direct executor (Runnable::run) makes the runs single-threaded.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
 
     /**
-     * Calculates regular working hours per day (max 8 hours).
-     * Overtime is calculated separately.
+     * Returns the cache of computed payroll results.
      */
-    private double calculateRegularHours(LocalTime timeIn, LocalTime timeOut) {
-        long totalMinutes = ChronoUnit.MINUTES.between(timeIn, timeOut);
-        double totalHours = totalMinutes / (double) MINUTES_PER_HOUR;
-        return Math.min(totalHours, REGULAR_HOURS_PER_DAY);
+    public PayrollResultCache getResultCache() {
+        return resultCache;
     }
 
     /**
-     * Calculates overtime hours based on work duration.
-     * Returns raw overtime hours (before applying multiplier).
+     * Returns the cache of statutory deductions, whose hit and miss counters show how much
+     * work the payroll runs shared between employees.
      */
-    private double calculateOvertimeHours(LocalDate date, LocalTime timeIn, LocalTime timeOut) {
-        long totalMinutes = ChronoUnit.MINUTES.between(timeIn, timeOut);
-        double totalHours = totalMinutes / (double) MINUTES_PER_HOUR;
-        double overtimeHours = Math.max(0, totalHours - REGULAR_HOURS_PER_DAY);
-        return overtimeHours;
+    public DeductionCache getDeductionCache() {
+        return deductionCache;
     }
 
+    // Constants for payroll calculation rules
+    private static final int REGULAR_DAY_OT_PERCENT = 125;    // 125% for weekdays
+    private static final int REST_DAY_OT_PERCENT = 130;       // 130% for weekends
+    private static final int MINUTES_PER_HOUR = 60;
+
+    // Holiday pay in percent of the hourly rate, indexed by holiday type * 2 + (rest day ? 1 : 0):
+    // ordinary days, special non-working days (130%, 150% on a rest day) and regular holidays
+    // (200%, 260% on a rest day), with overtime at a further 130% of the day's rate.
+    // Ordinary days keep the regular and overtime rates above.
+    private static final int[] HOLIDAY_REGULAR_PERCENT = {100, 100, 130, 150, 200, 260};
+    private static final int[] HOLIDAY_OVERTIME_PERCENT = {
+            REGULAR_DAY_OT_PERCENT, REST_DAY_OT_PERCENT, 169, 195, 260, 338};
+    // Night shift differential (10 PM to 6 AM), in percent of the day's regular rate
+    private static final int NIGHT_DIFFERENTIAL_PERCENT = 10;
+
     /**
-     * Determines the appropriate overtime rate multiplier based on the day type.
-     * - Weekdays: 1.25x
-     * - Weekend/Rest days: 1.30x
+     * Determines the appropriate overtime rate, in percent of the hourly rate, based on the day type.
+     * - Weekdays: 125%
+     * - Weekend/Rest days: 130%
      */
-    private double getOvertimeMultiplier(LocalDate date) {
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        boolean isRestDay = (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY);
-        return isRestDay ? REST_DAY_OT_MULTIPLIER : REGULAR_DAY_OT_MULTIPLIER;
+    private int getOvertimePercent(boolean isRestDay) {
+        return isRestDay ? REST_DAY_OT_PERCENT : REGULAR_DAY_OT_PERCENT;
     }
 
     /**
@@ -67,118 +106,74 @@ public class PayrollCalculator {
      * Employees arriving after 8:10 AM are considered late.
      */
     public int calculateLateMinutes(LocalTime timeIn) {
-        LocalTime graceTime = WORK_START_TIME.plusMinutes(GRACE_PERIOD_MINUTES);
-        if (timeIn.isAfter(graceTime)) {
-            return (int) ChronoUnit.MINUTES.between(WORK_START_TIME, timeIn);
-        }
-        return 0;
-    }
-
-    /**
-     * Converts late minutes into monetary deduction using hourly rate.
-     */
-    private double calculateLateDeduction(int lateMinutes, double hourlyRate) {
-        return (lateMinutes / 60.0) * hourlyRate;
-    }
-
-    /**
-     * Calculates SSS contribution based on monthly salary.
-     */
-    private double calculateSSS(double monthlySalary) {
-        if (monthlySalary < 3250) return 135.00;
-        else if (monthlySalary <= 3750) return 157.50;
-        else if (monthlySalary <= 4250) return 180.00;
-        else if (monthlySalary <= 4750) return 202.50;
-        else if (monthlySalary <= 5250) return 225.00;
-        else if (monthlySalary <= 5750) return 247.50;
-        else if (monthlySalary <= 6250) return 270.00;
-        else if (monthlySalary <= 6750) return 292.50;
-        else if (monthlySalary <= 7250) return 315.00;
-        else if (monthlySalary <= 7750) return 337.50;
-        else if (monthlySalary <= 8250) return 360.00;
-        else if (monthlySalary <= 8750) return 382.50;
-        else if (monthlySalary <= 9250) return 405.00;
-        else if (monthlySalary <= 9750) return 427.50;
-        else if (monthlySalary <= 10250) return 450.00;
-        else if (monthlySalary <= 10750) return 472.50;
-        else if (monthlySalary <= 11250) return 495.00;
-        else if (monthlySalary <= 11750) return 517.50;
-        else if (monthlySalary <= 12250) return 540.00;
-        else if (monthlySalary <= 12750) return 562.50;
-        else if (monthlySalary <= 13250) return 585.00;
-        else if (monthlySalary <= 13750) return 607.50;
-        else if (monthlySalary <= 14250) return 630.00;
-        else if (monthlySalary <= 14750) return 652.50;
-        else if (monthlySalary <= 15250) return 675.00;
-        else if (monthlySalary <= 15750) return 697.50;
-        else if (monthlySalary <= 16250) return 720.00;
-        else if (monthlySalary <= 16750) return 742.50;
-        else if (monthlySalary <= 17250) return 765.00;
-        else if (monthlySalary <= 17750) return 787.50;
-        else if (monthlySalary <= 18250) return 810.00;
-        else if (monthlySalary <= 18750) return 832.50;
-        else if (monthlySalary <= 19250) return 855.00;
-        else if (monthlySalary <= 19750) return 877.50;
-        else if (monthlySalary <= 20250) return 900.00;
-        else if (monthlySalary <= 20750) return 922.50;
-        else if (monthlySalary <= 21250) return 945.00;
-        else if (monthlySalary <= 21750) return 967.50;
-        else if (monthlySalary <= 22250) return 990.00;
-        else if (monthlySalary <= 22750) return 1012.50;
-        else if (monthlySalary <= 23250) return 1035.00;
-        else if (monthlySalary <= 23750) return 1057.50;
-        else if (monthlySalary <= 24250) return 1080.00;
-        else if (monthlySalary <= 24750) return 1102.50;
-        else return 1125.00; // Max contribution
-    }
-
-    /**
-     * Calculates PhilHealth contribution (2023 rates).
-     */
-    private double calculatePhilHealth(double monthlySalary) {
-        if (monthlySalary <= 10000.00) {
-            return 150.00;
-        } else if (monthlySalary < 60000.00) { 
-            return monthlySalary * 0.015; 
-        } else {
-            return 900.00; 
-        }
+        return DailyWorkSummary.calculateLateMinutes(TimeOfDay.toMinuteOfDay(timeIn));
     }
 
     /**
-     * Calculates Pag-IBIG contribution (2023 rates).
+     * Converts late minutes into monetary deduction using hourly rate, in centavos.
      */
-    private double calculatePagIBIG(double monthlySalary) {
-        if (monthlySalary <= 1500.00) {
-            return monthlySalary * 0.01; 
-        } else {
-            double contribution = monthlySalary * 0.02; 
-            return Math.min(contribution, 100.00); 
-        }
+    private long calculateLateDeduction(int lateMinutes, long hourlyRate) {
+        return Money.multiplyAndDivide(hourlyRate, lateMinutes, MINUTES_PER_HOUR);
     }
 
     /**
-     * Calculates withholding tax based on taxable income.
+     * Returns the contribution and tax tables in effect on a pay date.
+     * Each pay date is resolved once and then served from a cache.
      */
-    private double calculateWithholdingTax(double monthlySalary, double sss, double philhealth, double pagibig) {
-        double taxableIncome = monthlySalary - (sss + philhealth + pagibig);
-        if (taxableIncome <= 20833.00) {
-            return 0.00;
-        } else if (taxableIncome <= 33333.00) {
-            return (taxableIncome - 20833.00) * 0.20;
-        } else if (taxableIncome <= 66667.00) {
-            return 2500.00 + (taxableIncome - 33333.00) * 0.25;
-        } else if (taxableIncome <= 166667.00) {
-            return 10833.00 + (taxableIncome - 166667.00) * 0.30;
-        } else if (taxableIncome <= 666667.00) {
-            return 40833.33 + (taxableIncome - 166667.00) * 0.32;
-        } else { // taxableIncome > 666667.00
-            return 200833.33 + (taxableIncome - 666667.00) * 0.35;
-        }
+    private PayrollRates getRates(LocalDate payDate) {
+        return ratesByPayDate.computeIfAbsent(payDate, date -> new PayrollRates(
+                sssRates.getTable(date), philHealthRates.getTable(date),
+                pagIbigRates.getTable(date), withholdingTaxRates.getTable(date)));
+    }
+
+    /**
+     * Calculates SSS contribution based on monthly salary, from the table in data/sss-contributions.csv.
+     */
+    private long calculateSSS(PayrollRates rates, long monthlySalary) {
+        return rates.getSss().getAmount(monthlySalary);
+    }
+
+    /**
+     * Calculates PhilHealth contribution, from the table in data/philhealth-contributions.csv.
+     */
+    private long calculatePhilHealth(PayrollRates rates, long monthlySalary) {
+        return rates.getPhilHealth().getAmount(monthlySalary);
+    }
+
+    /**
+     * Calculates Pag-IBIG contribution, from the table in data/pagibig-contributions.csv.
+     */
+    private long calculatePagIBIG(PayrollRates rates, long monthlySalary) {
+        return rates.getPagIbig().getAmount(monthlySalary);
+    }
+
+    /**
+     * Calculates withholding tax based on taxable income, from the table in data/withholding-tax.csv.
+     */
+    private long calculateWithholdingTax(PayrollRates rates, long monthlySalary, long sss, long philhealth, long pagibig) {
+        long taxableIncome = monthlySalary - (sss + philhealth + pagibig);
+        return rates.getWithholdingTax().getAmount(taxableIncome);
+    }
+
+    /**
+     * Calculates the monthly contributions and withholding tax for a monthly salary.
+     * Memoized per salary and rate version, since they depend on nothing else.
+     */
+    private StatutoryDeductions getStatutoryDeductions(PayrollRates rates, long monthlySalary) {
+        return deductionCache.get(rates, monthlySalary, this::calculateStatutoryDeductions);
+    }
+
+    private StatutoryDeductions calculateStatutoryDeductions(PayrollRates rates, long monthlySalary) {
+        long sss = calculateSSS(rates, monthlySalary);
+        long philhealth = calculatePhilHealth(rates, monthlySalary);
+        long pagibig = calculatePagIBIG(rates, monthlySalary);
+        long withholdingTax = calculateWithholdingTax(rates, monthlySalary, sss, philhealth, pagibig);
+        return new StatutoryDeductions(sss, philhealth, pagibig, withholdingTax);
     }
 
     /**
      * Main entry point to process payroll for a specific employee and period.
+     * Prints the report to System.out; use {@link #getPayslip} to get the numbers instead.
      */
     public void processPayroll(String employeeId, YearMonth month, int weekNumber) {
         Employee employee = fileHandler.getEmployeeById(employeeId);
@@ -186,157 +181,344 @@ public class PayrollCalculator {
             System.out.println("Employee not found!");
             return;
         }
+        System.out.print(formatPayrollReport(employee, month, weekNumber, getPayslip(employeeId, month)));
+    }
 
-        // Filter all records to get only those relevant to the selected payroll month.
-        List<Attendance> recordsForPayrollMonth = fileHandler.getAllAttendanceRecords().stream()
-                .filter(r -> r.getEmployeeId().equals(employeeId))
-                .filter(r -> YearMonth.from(r.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))).equals(month))
-                .sorted(Comparator.comparing(Attendance::getDate))
-                .collect(Collectors.toList());
-        
-        if (recordsForPayrollMonth.isEmpty()) {
-            System.out.println("No attendance records found for " + month);
-            return;
+    /**
+     * Calculates the payroll of an employee for every week of a payroll month.
+     * Does not print anything and can be called from any thread.
+     * Results are served from the result cache until the employee's pay fields or attendance
+     * in that month change, including edits made to the files outside the application.
+     * @param employeeId The employee's ID.
+     * @param month The payroll month.
+     * @return One result per week that has attendance records, in week order;
+     *         empty if the employee does not exist or has no records in that month.
+     */
+    public List<PayrollResult> calculatePayroll(String employeeId, YearMonth month) {
+        // Pick up outside edits first: reloading bumps the tracker, which must happen before the lookup
+        fileHandler.refreshPayrollData();
+        // Taken after that load but before reading anything, so a change made during the calculation makes the result stale
+        long stamp = fileHandler.getPayrollChangeTracker().getStamp();
+        Employee employee = fileHandler.getEmployeeById(employeeId);
+        if (employee == null) {
+            return new ArrayList<>();
         }
-
-        // Group the relevant records by their week-starting Monday.
-        Map<LocalDate, List<Attendance>> weeklyData = recordsForPayrollMonth.stream()
-                .collect(Collectors.groupingBy(
-                    r -> r.getDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
-                ));
-
-        printPayrollReport(employee, weeklyData, month, weekNumber);
+        List<PayrollResult> cached = resultCache.get(employeeId, month);
+        if (cached != null) {
+            return cached;
+        }
+        // Get only the records relevant to the selected payroll month, already sorted by date.
+        List<DailyWorkSummary> daysForPayrollMonth = fileHandler.getWorkSummariesForPayrollMonth(employeeId, month);
+        List<PayrollResult> results = calculateWeeks(employee, groupByEmployeeAndWeek(daysForPayrollMonth).get(employeeId));
+        resultCache.put(employeeId, month, results, stamp);
+        return results;
     }
 
     /**
-     * Prints a formatted payroll report.
-     * @param employee The employee being processed.
-     * @param weeklyData A map of attendance records grouped by week start date (Monday).
+     * Returns an employee's payslip weeks for a payroll month: read from the payroll ledger if the
+     * month was finalized, so a closed period shows exactly what was paid, and calculated otherwise.
+     * @param employeeId The employee's ID.
      * @param month The payroll month.
-     * @param weekNumber The specific week to print (0 for all).
+     * @return One result per week, in week order; empty if the employee has none in that month.
      */
-    private void printPayrollReport(Employee employee, Map<LocalDate, List<Attendance>> weeklyData, YearMonth month, int weekNumber) {
-        System.out.println("\n-------------------------------");
-        System.out.println("       PAYROLL REPORT");
-        System.out.println("-------------------------------");
-        System.out.printf("Employee: %s, %s (%s)\n", employee.getLastName(), employee.getFirstName(), employee.getEmployeeId());
-        System.out.println("Payroll Month: " + month.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
+    public List<PayrollResult> getPayslip(String employeeId, YearMonth month) {
+        List<PayrollResult> finalized = fileHandler.readFinalizedPayroll(employeeId, month);
+        return finalized != null ? finalized : calculatePayroll(employeeId, month);
+    }
 
-        // Get sorted list of week-starting Mondays to determine week number
-        List<LocalDate> weekStarts = weeklyData.keySet().stream().sorted().collect(Collectors.toList());
+    /**
+     * Returns true if the payroll month was finalized, see {@link #finalizePayroll}.
+     */
+    public boolean isFinalized(YearMonth month) {
+        return fileHandler.isPayrollFinalized(month);
+    }
 
-        if (weekNumber == 0) { // Process all weeks
-            for (LocalDate weekStart : weekStarts) {
-                int currentWeekNum = weekStarts.indexOf(weekStart) + 1;
-                printWeekDetails(currentWeekNum, weeklyData.get(weekStart));
+    /**
+     * Recalculates only the payslip weeks whose attendance was saved since the last call,
+     * e.g. after a punch was corrected, instead of rerunning the month for every employee.
+     * The dirty weeks are fed by the attendance writes in {@link FileHandler}, so edits made to
+     * the files outside the application still need a full run. Each affected employee month is
+     * calculated once (a week's number depends on the other weeks of its month), the fresh
+     * results replace the cached ones, and months that were already posted to the year-to-date
+     * totals are posted again, unless they were finalized: those keep the run that was paid
+     * until they are finalized again.
+     * @return The recalculated weeks, sorted by employee ID and date.
+     */
+    public List<PayrollResult> recomputeDirty() {
+        List<PayrollWeek> dirtyWeeks = fileHandler.getPayrollChangeTracker().takeDirtyWeeks();
+        dirtyWeeks.sort(Comparator.comparing(PayrollWeek::getEmployeeId)
+                .thenComparing(PayrollWeek::getPayrollMonth)
+                .thenComparing(PayrollWeek::getWeekStart));
+        List<PayrollResult> recomputed = new ArrayList<>();
+        Map<YearMonth, Map<String, YearToDateTotals>> repostings = new TreeMap<>();
+        for (PayrollWeek week : dirtyWeeks) {
+            List<PayrollResult> weeks = calculatePayroll(week.getEmployeeId(), week.getPayrollMonth());
+            for (PayrollResult result : weeks) {
+                if (PayrollCalendar.getWeekStart(result.getStartDate()).equals(week.getWeekStart())) {
+                    recomputed.add(result);
+                }
             }
-        } else { // Process a specific week
-            if (weekNumber - 1 < weekStarts.size()) {
-                LocalDate selectedWeekStart = weekStarts.get(weekNumber - 1);
-                printWeekDetails(weekNumber, weeklyData.get(selectedWeekStart));
-            } else {
-                System.out.println("No attendance data found for week " + weekNumber + " in payroll month " + month);
+            if (fileHandler.getPostedPayrollTotals(week.getEmployeeId(), week.getPayrollMonth()) != null
+                    && !fileHandler.isPayrollFinalized(week.getPayrollMonth())) {
+                // An employee month left without attendance is taken out of the posting
+                repostings.computeIfAbsent(week.getPayrollMonth(), month -> new LinkedHashMap<>())
+                        .put(week.getEmployeeId(), weeks.isEmpty() ? null : YearToDateTotals.of(weeks));
             }
         }
+        for (Map.Entry<YearMonth, Map<String, YearToDateTotals>> reposting : repostings.entrySet()) {
+            fileHandler.updatePostedPayrollTotals(reposting.getKey(), reposting.getValue());
+        }
+        return recomputed;
     }
 
     /**
-     * Calculates and prints the detailed payroll breakdown for a single week.
-     * @param weekNumber The number of the week in the month.
-     * @param records The list of attendance records for that week.
+     * Calculates the payroll of all employees for a payroll month and posts each employee's totals
+     * to the persisted year-to-date accumulators. Posting a month again replaces its earlier totals.
+     * @param month The payroll month.
+     * @return The posted totals keyed by employee ID, for the employees with attendance in that month.
      */
-    private void printWeekDetails(int weekNumber, List<Attendance> records) {
-        if (records == null || records.isEmpty()) {
-            System.out.println("No records to process for week " + weekNumber);
-            return;
+    public Map<String, YearToDateTotals> postPayroll(YearMonth month) {
+        Map<String, YearToDateTotals> totalsById = new LinkedHashMap<>();
+        for (Map.Entry<String, List<PayrollResult>> employee : calculateAllPayroll(month).entrySet()) {
+            if (!employee.getValue().isEmpty()) {
+                totalsById.put(employee.getKey(), YearToDateTotals.of(employee.getValue()));
+            }
         }
-        Employee employee = fileHandler.getEmployeeById(records.get(0).getEmployeeId());
-        if (employee == null) {
-            System.out.println("Employee details not found for records in week " + weekNumber);
-            return;
+        fileHandler.postPayrollTotals(month, totalsById);
+        return totalsById;
+    }
+
+    /**
+     * Closes a payroll month: calculates all employees, appends the run to the payroll ledger and
+     * posts its totals to the year-to-date accumulators. From then on the month's payslips are read
+     * from the ledger instead of being recalculated. Finalizing a month again, e.g. after a
+     * correction, appends a new run that replaces the earlier one.
+     * @param month The payroll month.
+     * @return True if the run was saved; the totals are only posted then.
+     */
+    public boolean finalizePayroll(YearMonth month) {
+        Map<String, List<PayrollResult>> run = new LinkedHashMap<>();
+        Map<String, YearToDateTotals> totalsById = new LinkedHashMap<>();
+        for (Map.Entry<String, List<PayrollResult>> employee : calculateAllPayroll(month).entrySet()) {
+            if (!employee.getValue().isEmpty()) {
+                run.put(employee.getKey(), employee.getValue());
+                totalsById.put(employee.getKey(), YearToDateTotals.of(employee.getValue()));
+            }
+        }
+        if (!fileHandler.savePayrollRun(month, run)) {
+            return false;
+        }
+        fileHandler.postPayrollTotals(month, totalsById);
+        return true;
+    }
+
+    /**
+     * Returns an employee's posted totals for a year so far, read from the accumulators.
+     */
+    public YearToDateTotals getYearToDateTotals(String employeeId, int year) {
+        return fileHandler.getYearToDateTotals(employeeId, year);
+    }
+
+    /**
+     * Returns an employee's 13th month pay for a year, in centavos: one twelfth of the basic pay
+     * in the payroll months posted for that year.
+     */
+    public long calculateThirteenthMonthPay(String employeeId, int year) {
+        return getYearToDateTotals(employeeId, year).getThirteenthMonthPay();
+    }
+
+    /**
+     * Groups the days worked by employee ID and then by week-starting Monday in a single pass.
+     * Days keep their order within each week.
+     */
+    private Map<String, Map<LocalDate, List<DailyWorkSummary>>> groupByEmployeeAndWeek(List<DailyWorkSummary> days) {
+        Map<String, Map<LocalDate, List<DailyWorkSummary>>> grouped = new HashMap<>();
+        for (DailyWorkSummary day : days) {
+            grouped.computeIfAbsent(day.getEmployeeId(), id -> new HashMap<>())
+                    .computeIfAbsent(PayrollCalendar.getWeekStart(day.getDate()), week -> new ArrayList<>())
+                    .add(day);
         }
+        return grouped;
+    }
 
-        double totalRegularHours = 0;
-        double totalOvertimeHours = 0;
+    /**
+     * Calculates the payroll of every week, numbering the weeks by their starting Monday.
+     * @param employee The employee being processed.
+     * @param weeklyData A map of the days worked grouped by week start date (Monday), or null if there are none.
+     */
+    private List<PayrollResult> calculateWeeks(Employee employee, Map<LocalDate, List<DailyWorkSummary>> weeklyData) {
+        List<PayrollResult> results = new ArrayList<>();
+        if (weeklyData == null) {
+            return results;
+        }
+        // Get sorted list of week-starting Mondays to determine week number
+        List<LocalDate> weekStarts = weeklyData.keySet().stream().sorted().collect(Collectors.toList());
+        for (int i = 0; i < weekStarts.size(); i++) {
+            results.add(calculateWeek(employee, i + 1, weeklyData.get(weekStarts.get(i))));
+        }
+        return results;
+    }
+
+    /**
+     * Calculates the detailed payroll breakdown for a single week.
+     * The minutes of each day were derived when its attendance record was loaded or saved,
+     * so this only adds them up. Minutes worked on holidays also earn the difference between
+     * the holiday rate and the ordinary rate as a holiday premium, and night minutes earn the
+     * night differential on the day's regular rate.
+     * @param employee The employee the records belong to.
+     * @param weekNumber The number of the week in the month.
+     * @param records The days worked in that week, sorted by date (not empty).
+     */
+    PayrollResult calculateWeek(Employee employee, int weekNumber, List<DailyWorkSummary> records) {
+        int totalRegularMinutes = 0;
         int totalLateMinutes = 0;
-        Map<Boolean, Double> overtimeHoursByType = new HashMap<>();
-        overtimeHoursByType.put(true, 0.0);  // Rest day OT
-        overtimeHoursByType.put(false, 0.0); // Regular day OT
+        int regularDayOvertimeMinutes = 0;
+        int restDayOvertimeMinutes = 0;
+        int holidayMinutes = 0;
+        long holidayPremiumPercentMinutes = 0; // Minutes times the extra percent of the hourly rate
+        int nightMinutes = 0;
+        long nightPercentMinutes = 0; // Night minutes times the day's regular rate, in percent
+
+        for (DailyWorkSummary record : records) {
+            totalRegularMinutes += record.getRegularMinutes();
+            totalLateMinutes += record.getLateMinutes();
+
+            int overtimePercent = getOvertimePercent(record.isRestDay());
+            if (overtimePercent == REST_DAY_OT_PERCENT) {
+                restDayOvertimeMinutes += record.getOvertimeMinutes();
+            } else {
+                regularDayOvertimeMinutes += record.getOvertimeMinutes();
+            }
 
-        for (Attendance record : records) {
-            totalRegularHours += calculateRegularHours(record.getTimeIn(), record.getTimeOut());
-            double dailyOvertimeHours = calculateOvertimeHours(record.getDate(), record.getTimeIn(), record.getTimeOut());
-            totalLateMinutes += calculateLateMinutes(record.getTimeIn());
+            int dayType = holidays.getDayType(record.getDate().toEpochDay());
+            int premiumIndex = dayType * 2 + (record.isRestDay() ? 1 : 0);
+            nightMinutes += record.getNightMinutes();
+            nightPercentMinutes += (long) record.getNightMinutes() * HOLIDAY_REGULAR_PERCENT[premiumIndex];
+            if (dayType != HolidayCalendar.ORDINARY_DAY) {
+                holidayMinutes += record.getRegularMinutes() + record.getOvertimeMinutes();
+                holidayPremiumPercentMinutes += (long) record.getRegularMinutes() * (HOLIDAY_REGULAR_PERCENT[premiumIndex] - 100)
+                        + (long) record.getOvertimeMinutes() * (HOLIDAY_OVERTIME_PERCENT[premiumIndex] - overtimePercent);
+            }
+        }
+
+        // Money is in centavos; each amount below is rounded once, to the nearest centavo
+        long hourlyRate = Money.ofPesos(employee.getHourlyRate());
+        long monthlySalary = Money.ofPesos(employee.getBasicSalary());
+
+        long regularPay = Money.multiplyAndDivide(hourlyRate, totalRegularMinutes, MINUTES_PER_HOUR);
+        long regularDayOTPay = Money.multiplyAndDivide(hourlyRate, (long) regularDayOvertimeMinutes * REGULAR_DAY_OT_PERCENT, MINUTES_PER_HOUR * 100);
+        long restDayOTPay = Money.multiplyAndDivide(hourlyRate, (long) restDayOvertimeMinutes * REST_DAY_OT_PERCENT, MINUTES_PER_HOUR * 100);
+        long totalOvertimePay = regularDayOTPay + restDayOTPay;
+        long holidayPremiumPay = Money.multiplyAndDivide(hourlyRate, holidayPremiumPercentMinutes, MINUTES_PER_HOUR * 100);
+        long nightDifferentialPay = Money.multiplyAndDivide(hourlyRate, nightPercentMinutes * NIGHT_DIFFERENTIAL_PERCENT,
+                MINUTES_PER_HOUR * 100 * 100);
+
+        long lateDeduction = calculateLateDeduction(totalLateMinutes, hourlyRate);
+
+        long monthlyAllowances = Money.ofPesos(employee.getRiceSubsidy()) + Money.ofPesos(employee.getPhoneAllowance())
+                + Money.ofPesos(employee.getClothingAllowance());
+        long weeklyAllowances = Money.multiplyAndDivide(monthlyAllowances, 1, 4);
+
+        // Rates in effect on the week's pay date, its Friday
+        PayrollRates rates = getRates(PayrollCalendar.getPayDate(records.get(0).getDate()));
+        StatutoryDeductions monthlyDeductions = getStatutoryDeductions(rates, monthlySalary);
+
+        long weeklyGovernmentDeductions = Money.multiplyAndDivide(monthlyDeductions.getGovernmentContributions(), 1, 4);
+        long weeklyWithholdingTax = Money.multiplyAndDivide(monthlyDeductions.getWithholdingTax(), 1, 4);
+
+        return new PayrollResult(employee.getEmployeeId(), weekNumber,
+                records.get(0).getDate(), records.get(records.size() - 1).getDate(),
+                totalRegularMinutes, regularDayOvertimeMinutes, restDayOvertimeMinutes, totalLateMinutes, holidayMinutes, nightMinutes,
+                regularPay, totalOvertimePay, holidayPremiumPay, nightDifferentialPay, weeklyAllowances,
+                weeklyGovernmentDeductions, weeklyWithholdingTax, lateDeduction);
+    }
+
+    /**
+     * Formats a payroll report.
+     * @param employee The employee being processed.
+     * @param month The payroll month.
+     * @param weekNumber The specific week to include (0 for all).
+     * @param weeks The results of all weeks of the month, as returned by {@link #calculatePayroll}.
+     * @return The report text.
+     */
+    public String formatPayrollReport(Employee employee, YearMonth month, int weekNumber, List<PayrollResult> weeks) {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        if (weeks.isEmpty()) {
+            out.println("No attendance records found for " + month);
+            out.flush();
+            return text.toString();
+        }
 
-            DayOfWeek dayOfWeek = record.getDate().getDayOfWeek();
-            boolean isRestDay = (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY);
+        out.println("\n-------------------------------");
+        out.println("       PAYROLL REPORT");
+        out.println("-------------------------------");
+        out.printf("Employee: %s, %s (%s)\n", employee.getLastName(), employee.getFirstName(), employee.getEmployeeId());
+        out.println("Payroll Month: " + month.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
 
-            if (dailyOvertimeHours > 0) {
-                overtimeHoursByType.put(isRestDay, overtimeHoursByType.get(isRestDay) + dailyOvertimeHours);
+        if (weekNumber == 0) { // Process all weeks
+            for (PayrollResult week : weeks) {
+                formatWeekDetails(out, week);
+            }
+        } else { // Process a specific week
+            if (weekNumber - 1 < weeks.size()) {
+                formatWeekDetails(out, weeks.get(weekNumber - 1));
+            } else {
+                out.println("No attendance data found for week " + weekNumber + " in payroll month " + month);
             }
         }
-        
-        totalOvertimeHours = overtimeHoursByType.get(true) + overtimeHoursByType.get(false);
-
-        double regularPay = totalRegularHours * employee.getHourlyRate();
-        double regularDayOTPay = overtimeHoursByType.get(false) * employee.getHourlyRate() * REGULAR_DAY_OT_MULTIPLIER;
-        double restDayOTPay = overtimeHoursByType.get(true) * employee.getHourlyRate() * REST_DAY_OT_MULTIPLIER;
-        double totalOvertimePay = regularDayOTPay + restDayOTPay;
-
-        double lateDeduction = calculateLateDeduction(totalLateMinutes, employee.getHourlyRate());
-
-        double weeklyAllowances = (employee.getRiceSubsidy() + employee.getPhoneAllowance() + employee.getClothingAllowance()) / 4;
-
-        double sssMonthly = calculateSSS(employee.getBasicSalary());
-        double philhealthMonthly = calculatePhilHealth(employee.getBasicSalary());
-        double pagibigMonthly = calculatePagIBIG(employee.getBasicSalary());
-        
-        double weeklyGovernmentDeductions = (sssMonthly + philhealthMonthly + pagibigMonthly) / 4;
-        double weeklyWithholdingTax = calculateWithholdingTax(employee.getBasicSalary(), sssMonthly, philhealthMonthly, pagibigMonthly) / 4;
-
-        double grossPay = regularPay + totalOvertimePay + weeklyAllowances;
-        double totalDeductions = weeklyGovernmentDeductions + weeklyWithholdingTax + lateDeduction;
-        double netPay = grossPay - totalDeductions;
-
-        System.out.println("\n-------------------------------");
-        System.out.printf("Week %d (%s to %s)\n",
-                weekNumber,
-                records.get(0).getDate().format(DateTimeFormatter.ISO_LOCAL_DATE),
-                records.get(records.size() - 1).getDate().format(DateTimeFormatter.ISO_LOCAL_DATE));
-        System.out.println("-------------------------------");
-        System.out.printf("Worked Hours: %.2f hours\n", totalRegularHours);
-        System.out.printf("Late: %d minutes\n", totalLateMinutes);
-        System.out.printf("Overtime: %.2f hours\n", totalOvertimeHours); 
-        System.out.printf("Allowances: PHP %,.2f\n", weeklyAllowances);
-        System.out.printf("Government Deductions: PHP %,.2f\n", weeklyGovernmentDeductions);
-        System.out.printf("Withholding Tax: PHP %,.2f\n", weeklyWithholdingTax);
-        System.out.println("-------------------------------");
-        System.out.printf("Gross Weekly Pay: PHP %,.2f\n", grossPay);
-        System.out.printf("Total Deductions: PHP %,.2f\n", totalDeductions);
-        System.out.printf("Net Weekly Pay: PHP %,.2f\n", netPay);
+        out.flush();
+        return text.toString();
+    }
+
+    /**
+     * Formats the detailed payroll breakdown for a single week.
+     */
+    private void formatWeekDetails(PrintWriter out, PayrollResult week) {
+        out.println("\n-------------------------------");
+        out.printf("Week %d (%s to %s)\n",
+                week.getWeekNumber(),
+                week.getStartDate().format(DateTimeFormatter.ISO_LOCAL_DATE),
+                week.getEndDate().format(DateTimeFormatter.ISO_LOCAL_DATE));
+        out.println("-------------------------------");
+        out.printf("Worked Hours: %.2f hours\n", week.getRegularHours());
+        out.printf("Late: %d minutes\n", week.getLateMinutes());
+        out.printf("Overtime: %.2f hours\n", week.getOvertimeHours());
+        if (week.getHolidayMinutes() > 0) {
+            out.printf("Holiday Premium: PHP %,.2f (%.2f hours on holidays)\n",
+                    Money.toPesos(week.getHolidayPremiumPay()), week.getHolidayMinutes() / 60.0);
+        }
+        if (week.getNightMinutes() > 0) {
+            out.printf("Night Differential: PHP %,.2f (%.2f night hours)\n",
+                    Money.toPesos(week.getNightDifferentialPay()), week.getNightMinutes() / 60.0);
+        }
+        out.printf("Allowances: PHP %,.2f\n", Money.toPesos(week.getAllowances()));
+        out.printf("Government Deductions: PHP %,.2f\n", Money.toPesos(week.getGovernmentDeductions()));
+        out.printf("Withholding Tax: PHP %,.2f\n", Money.toPesos(week.getWithholdingTax()));
+        out.println("-------------------------------");
+        out.printf("Gross Weekly Pay: PHP %,.2f\n", Money.toPesos(week.getGrossPay()));
+        out.printf("Total Deductions: PHP %,.2f\n", Money.toPesos(week.getTotalDeductions()));
+        out.printf("Net Weekly Pay: PHP %,.2f\n", Money.toPesos(week.getNetPay()));
     }
 
     /**
      * Gets available payroll months with attendance records for a specific employee.
+     * The records are read in place, without copying them.
      */
     public List<YearMonth> getAvailableMonths(String employeeId) {
-        return fileHandler.getAllAttendanceRecords().stream()
-                .filter(r -> r.getEmployeeId().equals(employeeId))
-                .map(r -> YearMonth.from(r.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))))
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        Set<YearMonth> months = new TreeSet<>();
+        fileHandler.forEachAttendanceRecord(employeeId, r -> months.add(PayrollCalendar.getPayrollMonth(r.getDate())));
+        return new ArrayList<>(months);
     }
 
     /**
      * Gets all available payroll months with attendance records across all employees.
+     * The records are read in place, without copying them.
      */
     public List<YearMonth> getAllAvailableMonths() {
-        return fileHandler.getAllAttendanceRecords().stream()
-                .map(r -> YearMonth.from(r.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))))
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        Set<YearMonth> months = new TreeSet<>();
+        fileHandler.forEachAttendanceRecord(r -> months.add(PayrollCalendar.getPayrollMonth(r.getDate())));
+        return new ArrayList<>(months);
     }
 
     /**
@@ -348,15 +530,123 @@ public class PayrollCalculator {
 
     /**
      * A method to calculate weekly payroll for all employees.
+     * Employees and the month's attendance are read once and grouped by employee and week
+     * in a single pass, so the run takes time proportional to the size of the data.
+     * The reports are calculated and formatted in parallel on the executor, then printed in order of
+     * employee ID (numerically), so the output does not depend on the order of the employee file.
+     * A finalized month is printed from the payroll ledger instead.
      */
     public void calculateAllWeeklyPayroll(YearMonth month, int weekNumber) {
-        List<Employee> employees = fileHandler.readEmployees();
+        List<Employee> employees = sortByEmployeeId(fileHandler.readEmployees());
         if (employees.isEmpty()) {
             System.out.println("No employees found!");
             return;
         }
+        if (fileHandler.isPayrollFinalized(month)) {
+            for (Employee employee : employees) {
+                System.out.print(formatPayrollReport(employee, month, weekNumber, getPayslip(employee.getEmployeeId(), month)));
+            }
+            return;
+        }
+        Map<String, Map<LocalDate, List<DailyWorkSummary>>> weeklyDataByEmployee =
+                groupByEmployeeAndWeek(fileHandler.getWorkSummariesForPayrollMonth(month));
+
+        List<String> reports = calculateForEach(employees, employee -> formatPayrollReport(employee, month, weekNumber,
+                calculateWeeks(employee, weeklyDataByEmployee.get(employee.getEmployeeId()))));
+        for (String report : reports) {
+            System.out.print(report);
+        }
+    }
+
+    /**
+     * Calculates the payroll of all employees for every week of a payroll month, in parallel on the executor.
+     * @param month The payroll month.
+     * @return The results of each employee keyed by employee ID, in order of employee ID (numerically);
+     *         employees without attendance in that month have an empty list.
+     */
+    public Map<String, List<PayrollResult>> calculateAllPayroll(YearMonth month) {
+        List<Employee> employees = sortByEmployeeId(fileHandler.readEmployees());
+        Map<String, Map<LocalDate, List<DailyWorkSummary>>> weeklyDataByEmployee =
+                groupByEmployeeAndWeek(fileHandler.getWorkSummariesForPayrollMonth(month));
+
+        List<List<PayrollResult>> results = calculateForEach(employees,
+                employee -> calculateWeeks(employee, weeklyDataByEmployee.get(employee.getEmployeeId())));
+        Map<String, List<PayrollResult>> resultsById = new LinkedHashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            resultsById.put(employees.get(i).getEmployeeId(), results.get(i));
+        }
+        return resultsById;
+    }
+
+    /**
+     * Returns the employees sorted by employee ID: numeric IDs by value, any other IDs after them, alphabetically.
+     */
+    static List<Employee> sortByEmployeeId(List<Employee> employees) {
+        List<Employee> sorted = new ArrayList<>(employees);
+        sorted.sort(Comparator.comparing(Employee::getEmployeeId, PayrollCalculator::compareEmployeeIds));
+        return sorted;
+    }
+
+    private static int compareEmployeeIds(String a, String b) {
+        boolean aNumeric = isNumeric(a);
+        boolean bNumeric = isNumeric(b);
+        if (aNumeric != bNumeric) {
+            return aNumeric ? -1 : 1;
+        }
+        if (aNumeric) {
+            // Without leading zeros, a shorter number is smaller; this works for IDs of any length
+            String aDigits = stripLeadingZeros(a);
+            String bDigits = stripLeadingZeros(b);
+            int byValue = aDigits.length() != bDigits.length()
+                    ? Integer.compare(aDigits.length(), bDigits.length()) : aDigits.compareTo(bDigits);
+            if (byValue != 0) {
+                return byValue;
+            }
+        }
+        return a.compareTo(b);
+    }
+
+    private static boolean isNumeric(String id) {
+        if (id.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) < '0' || id.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        int start = 0;
+        while (start < digits.length() - 1 && digits.charAt(start) == '0') {
+            start++;
+        }
+        return digits.substring(start);
+    }
+
+    /**
+     * Runs a calculation for every employee on the executor and collects the results in the same order
+     * as the employees, so the outcome does not depend on which task finishes first.
+     */
+    private <T> List<T> calculateForEach(List<Employee> employees, Function<Employee, T> calculation) {
+        List<CompletableFuture<T>> tasks = new ArrayList<>(employees.size());
         for (Employee employee : employees) {
-            processPayroll(employee.getEmployeeId(), month, weekNumber);
+            tasks.add(CompletableFuture.supplyAsync(() -> calculation.apply(employee), executor));
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (CompletableFuture<T> task : tasks) {
+                results.add(task.join());
+            }
+        } catch (CompletionException e) {
+            // Rethrow what the calculation threw, as if it had run on this thread
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
+        return results;
     }
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package motorph;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Maps dates to the payroll calendar: weeks run Monday to Sunday, a date is paid on the next
+ * (or same) Friday and belongs to the payroll month that Friday falls in.
+ * For 2000 to 2099 the answers are precomputed per epoch day (and the bounds of each payroll
+ * month per month) into primitive arrays, so a lookup is an array read and returns shared
+ * LocalDate and YearMonth instances instead of new ones.
+ * Dates outside that range fall back to computing the same rule with java.time.
+ */
+public final class PayrollCalendar {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDate LAST_DATE = LocalDate.of(2099, 12, 31);
+    private static final int FIRST_DAY = (int) FIRST_DATE.toEpochDay();
+    private static final int DAYS = (int) (LAST_DATE.toEpochDay() - FIRST_DAY) + 1;
+    private static final YearMonth FIRST_MONTH = YearMonth.from(FIRST_DATE);
+    private static final int MONTH_COUNT = 12 * 101;
+
+    // Per day: payroll month as months since FIRST_MONTH, days since the week's Monday,
+    // and days until the pay date
+    private static final short[] PAYROLL_MONTHS = new short[DAYS];
+    private static final byte[] DAYS_SINCE_WEEK_START = new byte[DAYS];
+    private static final byte[] DAYS_UNTIL_PAY_DATE = new byte[DAYS];
+
+    // Per month since FIRST_MONTH: the epoch day the payroll month starts on; one extra entry
+    // holds the start of the month after the last, which ends the last month
+    private static final int[] MONTH_STARTS = new int[MONTH_COUNT + 1];
+
+    // Shared instances, created on first use; racing threads create equal values, which is harmless
+    private static final LocalDate[] DATES = new LocalDate[DAYS];
+    private static final YearMonth[] MONTHS = new YearMonth[MONTH_COUNT];
+
+    static {
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate date = LocalDate.ofEpochDay(FIRST_DAY + i);
+            LocalDate payDate = date.with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+            PAYROLL_MONTHS[i] = (short) ((payDate.getYear() - FIRST_MONTH.getYear()) * 12 + payDate.getMonthValue() - 1);
+            DAYS_SINCE_WEEK_START[i] = (byte) (date.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
+            DAYS_UNTIL_PAY_DATE[i] = (byte) (payDate.toEpochDay() - date.toEpochDay());
+        }
+        for (int i = 0; i <= MONTH_COUNT; i++) {
+            MONTH_STARTS[i] = (int) computeMonthStart(FIRST_MONTH.plusMonths(i)).toEpochDay();
+        }
+    }
+
+    private PayrollCalendar() {}
+
+    /**
+     * Returns the payroll month a date belongs to, i.e. the month of its pay date.
+     */
+    public static YearMonth getPayrollMonth(LocalDate date) {
+        int index = indexOf(date);
+        if (index < 0) {
+            return YearMonth.from(date.with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY)));
+        }
+        int month = PAYROLL_MONTHS[index];
+        YearMonth payrollMonth = MONTHS[month];
+        if (payrollMonth == null) {
+            payrollMonth = FIRST_MONTH.plusMonths(month);
+            MONTHS[month] = payrollMonth;
+        }
+        return payrollMonth;
+    }
+
+    /**
+     * Returns the Monday that starts the week of a date.
+     */
+    public static LocalDate getWeekStart(LocalDate date) {
+        int index = indexOf(date);
+        if (index < 0) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+        return dateAt(index - DAYS_SINCE_WEEK_START[index]);
+    }
+
+    /**
+     * Returns the pay date of a date: the next or same Friday.
+     */
+    public static LocalDate getPayDate(LocalDate date) {
+        int index = indexOf(date);
+        if (index < 0) {
+            return date.with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+        }
+        return dateAt(index + DAYS_UNTIL_PAY_DATE[index]);
+    }
+
+    /**
+     * Returns the first date whose records belong to the given payroll month,
+     * i.e. the Saturday before the month's first Friday.
+     */
+    public static LocalDate getPayrollMonthStart(YearMonth month) {
+        int index = monthIndexOf(month);
+        if (index < 0) {
+            return computeMonthStart(month);
+        }
+        return dateAt(MONTH_STARTS[index] - FIRST_DAY);
+    }
+
+    /**
+     * Returns the last date whose records belong to the given payroll month,
+     * i.e. the month's last Friday.
+     */
+    public static LocalDate getPayrollMonthEnd(YearMonth month) {
+        int index = monthIndexOf(month);
+        if (index < 0) {
+            return month.atEndOfMonth().with(TemporalAdjusters.previousOrSame(DayOfWeek.FRIDAY));
+        }
+        return dateAt(MONTH_STARTS[index + 1] - 1 - FIRST_DAY);
+    }
+
+    // Computes the start of a payroll month with java.time
+    private static LocalDate computeMonthStart(YearMonth month) {
+        return month.atDay(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY)).minusDays(6);
+    }
+
+    // Returns the table index of a month, or -1 if it is outside the precomputed range
+    private static int monthIndexOf(YearMonth month) {
+        long index = (month.getYear() - (long) FIRST_MONTH.getYear()) * 12 + month.getMonthValue() - 1;
+        return index >= 0 && index < MONTH_COUNT ? (int) index : -1;
+    }
+
+    // Returns the table index of a date, or -1 if it is outside the precomputed range
+    private static int indexOf(LocalDate date) {
+        long index = date.toEpochDay() - FIRST_DAY;
+        return index >= 0 && index < DAYS ? (int) index : -1;
+    }
+
+    // Returns the shared date at an index; dates just outside the range are created as needed
+    private static LocalDate dateAt(int index) {
+        if (index < 0 || index >= DAYS) {
+            return LocalDate.ofEpochDay(FIRST_DAY + index);
+        }
+        LocalDate date = DATES[index];
+        if (date == null) {
+            date = LocalDate.ofEpochDay(FIRST_DAY + index);
+            DATES[index] = date;
+        }
+        return date;
+    }
+}
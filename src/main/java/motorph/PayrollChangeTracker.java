@@ -0,0 +1,94 @@
+package motorph;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records when the data a payroll result depends on last changed, so cached results can tell
+ * whether they are still current. Every change takes the next value of a process-wide counter:
+ * a result computed after reading {@link #getStamp()} is stale exactly when
+ * {@link #getLastChange} for its employee and payroll month is greater than that stamp.
+ * Changes are recorded by {@link FileHandler} after the cached data has been updated.
+ * Attendance changes also mark their payslip week dirty until a recomputation takes it
+ * (see {@link PayrollCalculator#recomputeDirty()}).
+ */
+public class PayrollChangeTracker {
+    private final AtomicLong clock = new AtomicLong();
+    // Last change to the pay fields of each employee, and to the attendance of each employee per payroll month
+    private final Map<String, Long> payChanges = new ConcurrentHashMap<>();
+    private final Map<String, Map<YearMonth, Long>> attendanceChanges = new ConcurrentHashMap<>();
+    // Payslip weeks whose attendance changed since they were last recomputed
+    private final Set<PayrollWeek> dirtyWeeks = ConcurrentHashMap.newKeySet();
+    // Last time a file was (re)loaded, which may have changed anything
+    private volatile long lastReload;
+
+    /**
+     * Returns the current stamp; read it before reading the data a result is computed from.
+     */
+    public long getStamp() {
+        return clock.get();
+    }
+
+    /**
+     * Records that an employee's attendance on a date was added or changed.
+     */
+    public void attendanceChanged(String employeeId, LocalDate date) {
+        PayrollWeek week = PayrollWeek.of(employeeId, date);
+        attendanceChanges.computeIfAbsent(employeeId, id -> new ConcurrentHashMap<>())
+                .put(week.getPayrollMonth(), clock.incrementAndGet());
+        dirtyWeeks.add(week);
+    }
+
+    /**
+     * Removes and returns the dirty payslip weeks. A week marked again while the caller
+     * recomputes is returned by the next call.
+     */
+    public List<PayrollWeek> takeDirtyWeeks() {
+        List<PayrollWeek> taken = new ArrayList<>();
+        for (PayrollWeek week : dirtyWeeks) {
+            if (dirtyWeeks.remove(week)) {
+                taken.add(week);
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Returns the number of dirty payslip weeks.
+     */
+    public int getDirtyWeekCount() {
+        return dirtyWeeks.size();
+    }
+
+    /**
+     * Records that an employee's salary, rate or allowances changed, or that the employee was added or removed.
+     */
+    public void payChanged(String employeeId) {
+        payChanges.put(employeeId, clock.incrementAndGet());
+    }
+
+    /**
+     * Records that a data file was read again, e.g. after it was edited outside the application.
+     */
+    public void reloaded() {
+        lastReload = clock.incrementAndGet();
+    }
+
+    /**
+     * Returns the stamp of the latest change that affects an employee's payroll for a payroll month.
+     */
+    public long getLastChange(String employeeId, YearMonth payrollMonth) {
+        long lastChange = Math.max(lastReload, payChanges.getOrDefault(employeeId, 0L));
+        Map<YearMonth, Long> months = attendanceChanges.get(employeeId);
+        if (months != null) {
+            lastChange = Math.max(lastChange, months.getOrDefault(payrollMonth, 0L));
+        }
+        return lastChange;
+    }
+}
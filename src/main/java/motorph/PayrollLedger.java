@@ -0,0 +1,351 @@
+package motorph;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only binary file of finalized payroll runs, so a payslip of a closed period is read
+ * back exactly as it was paid instead of being recomputed from attendance.
+ * Each run is one block: a header (magic, version, payroll month, finalization time, employee count,
+ * body length), a directory of employee ID, payslip offset and payslip length, the payslips
+ * themselves (the weeks of one employee, {@value #WEEK_SIZE} bytes each) and a CRC32 of the block.
+ * Only the headers and directories are scanned into memory, so reading a payslip is one seek and
+ * one read. Finalizing a month again appends a new block that supersedes the earlier one.
+ * A block cut short by a crash at the end of the file is ignored and overwritten by the next run.
+ * A complete block that fails its checks is never overwritten: the runs before it stay readable,
+ * and no more runs are appended until the file is repaired.
+ */
+public class PayrollLedger {
+    private static final int MAGIC = 0x4D50484C; // "MPHL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 4 + 4;
+    private static final int CHECKSUM_SIZE = 8;
+    private static final int WEEK_SIZE = 3 * 4 + 6 * 4 + 8 * 8;
+    // What scanBlock returns for a block that runs past the end of the file, or fails its checks
+    private static final int INCOMPLETE = -1;
+    private static final int DAMAGED = -2;
+
+    private final String path;
+
+    // Payslip location per payroll month and employee ID, from the latest block of each month
+    private Map<YearMonth, Map<String, Slot>> index;
+    // Length of the file up to the end of the last valid block
+    private long validLength;
+    private long scannedLength;
+    // Offset of a complete block that failed its checks, -1 if there is none
+    private long damagedOffset = -1;
+
+    /**
+     * Creates a ledger backed by a file; the file is created by the first run appended.
+     * @param path Path to the ledger file.
+     */
+    public PayrollLedger(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns true if a run was finalized for the payroll month.
+     */
+    public synchronized boolean isFinalized(YearMonth month) {
+        refresh();
+        return index.containsKey(month);
+    }
+
+    /**
+     * Returns the finalized payroll months, oldest first.
+     */
+    public synchronized List<YearMonth> getFinalizedMonths() {
+        refresh();
+        return new ArrayList<>(new TreeSet<>(index.keySet()));
+    }
+
+    /**
+     * Reads an employee's payslip from the latest finalized run of a payroll month.
+     * @return The weeks as they were finalized (empty if the employee was not in the run),
+     *         or null if the month was not finalized or the payslip could not be read.
+     */
+    public synchronized List<PayrollResult> read(String employeeId, YearMonth month) {
+        refresh();
+        Map<String, Slot> slots = index.get(month);
+        if (slots == null) {
+            return null;
+        }
+        Slot slot = slots.get(employeeId);
+        if (slot == null) {
+            return new ArrayList<>();
+        }
+        byte[] payslip = new byte[slot.length];
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            file.seek(slot.offset);
+            file.readFully(payslip);
+            return decodePayslip(employeeId, ByteBuffer.wrap(payslip));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading payslip of " + employeeId + " for " + month + " from " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Appends a finalized run of a payroll month and flushes it to disk.
+     * @param month The payroll month.
+     * @param resultsById Each employee's weeks keyed by employee ID.
+     * @return True if the run was saved.
+     */
+    public synchronized boolean append(YearMonth month, Map<String, List<PayrollResult>> resultsById) {
+        refresh();
+        if (damagedOffset >= 0) {
+            System.err.println("Not saving payroll run for " + month + ": " + path + " is damaged at offset " + damagedOffset);
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        byte[] block;
+        Map<String, Slot> slots = new LinkedHashMap<>();
+        try {
+            block = encodeBlock(month, now, resultsById, validLength, slots);
+        } catch (IOException e) {
+            // Only thrown for an employee ID too long for the directory
+            System.err.println("Error finalizing payroll for " + month + ": " + e.getMessage());
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(new File(path).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Only an incomplete block left by a crash can follow the last valid one; the new run replaces it
+            channel.truncate(validLength);
+            ByteBuffer buffer = ByteBuffer.wrap(block);
+            long position = validLength;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            System.err.println("Error saving payroll run for " + month + " to " + path + ": " + e.getMessage());
+            e.printStackTrace();
+            // Rescan on next use; a partly written block fails its checksum
+            index = null;
+            return false;
+        }
+        validLength += block.length;
+        scannedLength = validLength;
+        index.put(month, slots);
+        return true;
+    }
+
+    // Scans the file on first use, and the blocks another process appended since the last scan
+    private void refresh() {
+        File file = new File(path);
+        if (index == null) {
+            index = new HashMap<>();
+            validLength = 0;
+            scannedLength = -1;
+        }
+        long length = file.isFile() ? file.length() : 0;
+        if (length == scannedLength) {
+            return;
+        }
+        if (length < validLength) {
+            // Replaced or truncated behind our back: start over
+            index.clear();
+            validLength = 0;
+        }
+        // The file changed, so look at the damaged block again in case it was repaired
+        damagedOffset = -1;
+        scannedLength = length;
+        if (length == validLength) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Read into the heap rather than mapping, so no mapping keeps the file locked on Windows
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(length - validLength));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, validLength + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                int blockLength = scanBlock(buffer, validLength);
+                if (blockLength == INCOMPLETE) {
+                    break;
+                }
+                if (blockLength == DAMAGED) {
+                    damagedOffset = validLength;
+                    System.err.println("Error: damaged payroll run at offset " + validLength + " of " + path
+                            + "; later runs cannot be read and new runs will not be saved until it is repaired");
+                    break;
+                }
+                validLength += blockLength;
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks the block at the buffer's position and adds its directory to the index.
+     * @return The length of the block, {@link #INCOMPLETE} if the buffer ends before the block does,
+     *         or {@link #DAMAGED} if the block is complete but fails its checks.
+     */
+    private int scanBlock(ByteBuffer buffer, long blockOffset) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_SIZE) {
+            return INCOMPLETE;
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return DAMAGED;
+        }
+        int monthValue = buffer.getInt();
+        buffer.getLong(); // finalization time, kept for auditing
+        int count = buffer.getInt();
+        int bodyLength = buffer.getInt();
+        if (count < 0 || bodyLength < 0) {
+            return DAMAGED;
+        }
+        if (buffer.remaining() < (long) bodyLength + CHECKSUM_SIZE) {
+            return INCOMPLETE;
+        }
+        int blockLength = HEADER_SIZE + bodyLength + CHECKSUM_SIZE;
+        CRC32 crc = new CRC32();
+        ByteBuffer covered = buffer.duplicate();
+        covered.position(start).limit(start + HEADER_SIZE + bodyLength);
+        crc.update(covered);
+        if (buffer.getLong(start + HEADER_SIZE + bodyLength) != crc.getValue()) {
+            return DAMAGED;
+        }
+
+        Map<String, Slot> slots = new HashMap<>(count * 2);
+        try {
+            for (int i = 0; i < count; i++) {
+                String employeeId = readString(buffer);
+                int offset = buffer.getInt();
+                int length = buffer.getInt();
+                slots.put(employeeId, new Slot(blockOffset + offset, length));
+            }
+        } catch (RuntimeException e) {
+            return DAMAGED;
+        }
+        YearMonth month = YearMonth.of(Math.floorDiv(monthValue, 12), Math.floorMod(monthValue, 12) + 1);
+        index.put(month, slots);
+        buffer.position(start + blockLength);
+        return blockLength;
+    }
+
+    // Lays out a block; slots receives the file offset of each payslip for a block starting at blockOffset
+    private static byte[] encodeBlock(YearMonth month, long time, Map<String, List<PayrollResult>> resultsById,
+                                      long blockOffset, Map<String, Slot> slots) throws IOException {
+        ByteArrayOutputStream directoryBytes = new ByteArrayOutputStream();
+        DataOutputStream directory = new DataOutputStream(directoryBytes);
+        int directorySize = 0;
+        for (String employeeId : resultsById.keySet()) {
+            directorySize += 2 + employeeId.getBytes(StandardCharsets.UTF_8).length + 4 + 4;
+        }
+        ByteArrayOutputStream payslipBytes = new ByteArrayOutputStream();
+        DataOutputStream payslips = new DataOutputStream(payslipBytes);
+        for (Map.Entry<String, List<PayrollResult>> employee : resultsById.entrySet()) {
+            int offset = HEADER_SIZE + directorySize + payslipBytes.size();
+            encodePayslip(payslips, employee.getValue());
+            int length = HEADER_SIZE + directorySize + payslipBytes.size() - offset;
+            writeString(directory, employee.getKey());
+            directory.writeInt(offset);
+            directory.writeInt(length);
+            slots.put(employee.getKey(), new Slot(blockOffset + offset, length));
+        }
+
+        ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(HEADER_SIZE + directorySize + payslipBytes.size() + CHECKSUM_SIZE);
+        DataOutputStream out = new DataOutputStream(blockBytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(month.getYear() * 12 + month.getMonthValue() - 1);
+        out.writeLong(time);
+        out.writeInt(resultsById.size());
+        out.writeInt(directorySize + payslipBytes.size());
+        directoryBytes.writeTo(out);
+        payslipBytes.writeTo(out);
+        CRC32 crc = new CRC32();
+        crc.update(blockBytes.toByteArray());
+        out.writeLong(crc.getValue());
+        return blockBytes.toByteArray();
+    }
+
+    private static void encodePayslip(DataOutputStream out, List<PayrollResult> weeks) throws IOException {
+        out.writeInt(weeks.size());
+        for (PayrollResult week : weeks) {
+            out.writeInt(week.getWeekNumber());
+            out.writeInt((int) week.getStartDate().toEpochDay());
+            out.writeInt((int) week.getEndDate().toEpochDay());
+            out.writeInt(week.getRegularMinutes());
+            out.writeInt(week.getRegularDayOvertimeMinutes());
+            out.writeInt(week.getRestDayOvertimeMinutes());
+            out.writeInt(week.getLateMinutes());
+            out.writeInt(week.getHolidayMinutes());
+            out.writeInt(week.getNightMinutes());
+            out.writeLong(week.getRegularPay());
+            out.writeLong(week.getOvertimePay());
+            out.writeLong(week.getHolidayPremiumPay());
+            out.writeLong(week.getNightDifferentialPay());
+            out.writeLong(week.getAllowances());
+            out.writeLong(week.getGovernmentDeductions());
+            out.writeLong(week.getWithholdingTax());
+            out.writeLong(week.getLateDeduction());
+        }
+    }
+
+    private static List<PayrollResult> decodePayslip(String employeeId, ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || in.remaining() != (long) count * WEEK_SIZE) {
+            throw new IllegalStateException("payslip has " + in.remaining() + " bytes for " + count + " weeks");
+        }
+        List<PayrollResult> weeks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            weeks.add(new PayrollResult(employeeId, in.getInt(),
+                    LocalDate.ofEpochDay(in.getInt()), LocalDate.ofEpochDay(in.getInt()),
+                    in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                    in.getLong(), in.getLong(), in.getLong(), in.getLong(), in.getLong(),
+                    in.getLong(), in.getLong(), in.getLong()));
+        }
+        return weeks;
+    }
+
+    // Writes a string as its UTF-8 length (unsigned short) and bytes
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("employee ID too long: " + value.substring(0, 20) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    // Reads a string written by writeString
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Where a payslip is stored in the file
+    private static final class Slot {
+        final long offset;
+        final int length;
+
+        Slot(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
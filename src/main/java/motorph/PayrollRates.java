@@ -0,0 +1,47 @@
+package motorph;
+
+/**
+ * The contribution and tax tables in effect for one pay date.
+ * Resolved once per pay date by {@link PayrollCalculator} so the per-employee calculations
+ * do not search the table histories again.
+ * Two instances are equal when they hold the same table versions, so pay dates that share
+ * every version can share cached deductions (see {@link DeductionCache}).
+ */
+public final class PayrollRates {
+    private final RateTable sss;
+    private final RateTable philHealth;
+    private final RateTable pagIbig;
+    private final RateTable withholdingTax;
+
+    public PayrollRates(RateTable sss, RateTable philHealth, RateTable pagIbig, RateTable withholdingTax) {
+        this.sss = sss;
+        this.philHealth = philHealth;
+        this.pagIbig = pagIbig;
+        this.withholdingTax = withholdingTax;
+    }
+
+    // Getters
+    public RateTable getSss() { return sss; }
+    public RateTable getPhilHealth() { return philHealth; }
+    public RateTable getPagIbig() { return pagIbig; }
+    public RateTable getWithholdingTax() { return withholdingTax; }
+
+    // Tables are immutable and each version is loaded once, so versions are compared by identity
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PayrollRates)) return false;
+        PayrollRates other = (PayrollRates) o;
+        return sss == other.sss && philHealth == other.philHealth
+                && pagIbig == other.pagIbig && withholdingTax == other.withholdingTax;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = System.identityHashCode(sss);
+        result = 31 * result + System.identityHashCode(philHealth);
+        result = 31 * result + System.identityHashCode(pagIbig);
+        result = 31 * result + System.identityHashCode(withholdingTax);
+        return result;
+    }
+}
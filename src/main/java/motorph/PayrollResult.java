@@ -0,0 +1,110 @@
+package motorph;
+
+import java.time.LocalDate;
+
+/**
+ * The computed payroll of one employee for one week of a payroll month.
+ * Instances are immutable, so they can be shared between threads and kept after a run.
+ * Times are kept in whole minutes and money in centavos (see {@link Money}), so totals add up exactly.
+ * Use {@link PayrollCalculator#formatPayrollReport} to turn a list of them into the text report.
+ */
+public final class PayrollResult {
+    private final String employeeId;
+    private final int weekNumber;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    private final int regularMinutes;
+    private final int regularDayOvertimeMinutes;
+    private final int restDayOvertimeMinutes;
+    private final int lateMinutes;
+    private final int holidayMinutes;
+    private final int nightMinutes;
+
+    private final long regularPay;
+    private final long overtimePay;
+    private final long holidayPremiumPay;
+    private final long nightDifferentialPay;
+    private final long allowances;
+    private final long governmentDeductions;
+    private final long withholdingTax;
+    private final long lateDeduction;
+
+    /**
+     * Constructs a payroll result.
+     * @param employeeId The employee's ID.
+     * @param weekNumber The number of the week in the payroll month (1-based).
+     * @param startDate The date of the first attendance record of the week.
+     * @param endDate The date of the last attendance record of the week.
+     * @param regularMinutes Worked minutes, up to 8 hours per day.
+     * @param regularDayOvertimeMinutes Overtime minutes on weekdays.
+     * @param restDayOvertimeMinutes Overtime minutes on weekends.
+     * @param lateMinutes Minutes late after the grace period.
+     * @param holidayMinutes Regular and overtime minutes worked on holidays.
+     * @param nightMinutes Minutes worked between 10 PM and 6 AM.
+     * @param regularPay Pay for the regular minutes, in centavos.
+     * @param overtimePay Pay for all overtime minutes, with the multipliers applied, in centavos.
+     * @param holidayPremiumPay The extra pay for the minutes worked on holidays, on top of
+     *                          regularPay and overtimePay, in centavos.
+     * @param nightDifferentialPay The night shift differential for the night minutes, in centavos.
+     * @param allowances The weekly share of the rice, phone and clothing allowances, in centavos.
+     * @param governmentDeductions The weekly share of the SSS, PhilHealth and Pag-IBIG contributions, in centavos.
+     * @param withholdingTax The weekly share of the withholding tax, in centavos.
+     * @param lateDeduction The deduction for the late minutes, in centavos.
+     */
+    public PayrollResult(String employeeId, int weekNumber, LocalDate startDate, LocalDate endDate,
+                         int regularMinutes, int regularDayOvertimeMinutes, int restDayOvertimeMinutes,
+                         int lateMinutes, int holidayMinutes, int nightMinutes,
+                         long regularPay, long overtimePay, long holidayPremiumPay, long nightDifferentialPay,
+                         long allowances,
+                         long governmentDeductions, long withholdingTax, long lateDeduction) {
+        this.employeeId = employeeId;
+        this.weekNumber = weekNumber;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.regularMinutes = regularMinutes;
+        this.regularDayOvertimeMinutes = regularDayOvertimeMinutes;
+        this.restDayOvertimeMinutes = restDayOvertimeMinutes;
+        this.lateMinutes = lateMinutes;
+        this.holidayMinutes = holidayMinutes;
+        this.nightMinutes = nightMinutes;
+        this.regularPay = regularPay;
+        this.overtimePay = overtimePay;
+        this.holidayPremiumPay = holidayPremiumPay;
+        this.nightDifferentialPay = nightDifferentialPay;
+        this.allowances = allowances;
+        this.governmentDeductions = governmentDeductions;
+        this.withholdingTax = withholdingTax;
+        this.lateDeduction = lateDeduction;
+    }
+
+    // Getters
+    public String getEmployeeId() { return employeeId; }
+    public int getWeekNumber() { return weekNumber; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+
+    public int getRegularMinutes() { return regularMinutes; }
+    public int getRegularDayOvertimeMinutes() { return regularDayOvertimeMinutes; }
+    public int getRestDayOvertimeMinutes() { return restDayOvertimeMinutes; }
+    public int getOvertimeMinutes() { return restDayOvertimeMinutes + regularDayOvertimeMinutes; }
+    public int getLateMinutes() { return lateMinutes; }
+    public int getHolidayMinutes() { return holidayMinutes; }
+    public int getNightMinutes() { return nightMinutes; }
+    public double getRegularHours() { return regularMinutes / 60.0; }
+    public double getOvertimeHours() { return getOvertimeMinutes() / 60.0; }
+
+    // Money amounts, in centavos
+    public long getRegularPay() { return regularPay; }
+    public long getOvertimePay() { return overtimePay; }
+    public long getHolidayPremiumPay() { return holidayPremiumPay; }
+    public long getNightDifferentialPay() { return nightDifferentialPay; }
+    public long getAllowances() { return allowances; }
+    public long getGovernmentDeductions() { return governmentDeductions; }
+    public long getWithholdingTax() { return withholdingTax; }
+    public long getLateDeduction() { return lateDeduction; }
+
+    public long getGrossPay() { return regularPay + overtimePay + holidayPremiumPay + nightDifferentialPay + allowances; }
+    public long getTotalDeductions() { return governmentDeductions + withholdingTax + lateDeduction; }
+    public long getNetPay() { return getGrossPay() - getTotalDeductions(); }
+}
@@ -0,0 +1,124 @@
+package motorph;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded cache of computed payroll, one entry per employee and payroll month holding the
+ * results of all its weeks. When full, the least recently used entry is dropped.
+ * Each entry remembers the {@link PayrollChangeTracker} stamp read before it was computed and is
+ * discarded on lookup once the employee's pay fields or attendance in that month changed since.
+ * <p>
+ * Entries are per month rather than per week because a week's number is its position among the
+ * weeks of the month that have attendance, so adding or removing the only day of one week
+ * renumbers the weeks after it; a week's result cannot be reused without the rest of its month.
+ * The key has no rate version because the rate tables are read once per {@link PayrollCalculator},
+ * which owns the cache, and the version in effect for a week follows from its pay date; new rates
+ * mean a new calculator and so an empty cache. Reloading the employee or attendance file bumps the
+ * tracker's reload stamp, which makes every entry stale.
+ */
+public class PayrollResultCache {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final PayrollChangeTracker changes;
+    private final Map<Key, CachedMonth> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache holding at most the given number of employee months.
+     * @param changes Tells the cache when entries become stale.
+     * @param capacity The maximum number of entries.
+     */
+    public PayrollResultCache(PayrollChangeTracker changes, int capacity) {
+        this.changes = changes;
+        // Access order makes the first entry the least recently used
+        this.entries = new LinkedHashMap<Key, CachedMonth>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedMonth> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached results of an employee's payroll month, or null if they are missing or stale.
+     * The list is a copy.
+     */
+    public synchronized List<PayrollResult> get(String employeeId, YearMonth month) {
+        Key key = new Key(employeeId, month);
+        CachedMonth entry = entries.get(key);
+        if (entry == null || entry.stamp < changes.getLastChange(employeeId, month)) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return new ArrayList<>(entry.results);
+    }
+
+    /**
+     * Stores the results of an employee's payroll month.
+     * @param stamp The {@link PayrollChangeTracker#getStamp()} read before the data was read.
+     */
+    public synchronized void put(String employeeId, YearMonth month, List<PayrollResult> results, long stamp) {
+        entries.put(new Key(employeeId, month), new CachedMonth(new ArrayList<>(results), stamp));
+    }
+
+    /**
+     * Drops every entry.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static final class CachedMonth {
+        private final List<PayrollResult> results;
+        private final long stamp;
+
+        CachedMonth(List<PayrollResult> results, long stamp) {
+            this.results = results;
+            this.stamp = stamp;
+        }
+    }
+
+    private static final class Key {
+        private final String employeeId;
+        private final YearMonth month;
+
+        Key(String employeeId, YearMonth month) {
+            this.employeeId = employeeId;
+            this.month = month;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return employeeId.equals(other.employeeId) && month.equals(other.month);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * employeeId.hashCode() + month.hashCode();
+        }
+    }
+}
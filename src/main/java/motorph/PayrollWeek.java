@@ -0,0 +1,51 @@
+package motorph;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Identifies one employee's payslip week: the payroll month and the Monday the week starts on,
+ * as {@link PayrollCalculator} groups attendance records.
+ */
+public final class PayrollWeek {
+    private final String employeeId;
+    private final YearMonth payrollMonth;
+    private final LocalDate weekStart;
+
+    public PayrollWeek(String employeeId, YearMonth payrollMonth, LocalDate weekStart) {
+        this.employeeId = employeeId;
+        this.payrollMonth = payrollMonth;
+        this.weekStart = weekStart;
+    }
+
+    /**
+     * Returns the payslip week an attendance record on a date is paid in.
+     */
+    public static PayrollWeek of(String employeeId, LocalDate date) {
+        return new PayrollWeek(employeeId, PayrollCalendar.getPayrollMonth(date), PayrollCalendar.getWeekStart(date));
+    }
+
+    // Getters
+    public String getEmployeeId() { return employeeId; }
+    public YearMonth getPayrollMonth() { return payrollMonth; }
+    public LocalDate getWeekStart() { return weekStart; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PayrollWeek)) return false;
+        PayrollWeek other = (PayrollWeek) o;
+        return employeeId.equals(other.employeeId) && payrollMonth.equals(other.payrollMonth)
+                && weekStart.equals(other.weekStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * employeeId.hashCode() + payrollMonth.hashCode()) * 31 + weekStart.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return employeeId + " " + payrollMonth + " week of " + weekStart;
+    }
+}
@@ -0,0 +1,190 @@
+package motorph;
+
+import java.util.Arrays;
+
+/**
+ * One version of a bracketed contribution or tax schedule (SSS, PhilHealth, Pag-IBIG or withholding tax).
+ * Each bracket has an upper bound, inclusive unless marked exclusive ("below"), and the last bracket
+ * has no bound. The amount for a value in a bracket is
+ * {@code fixedAmount + (value - excessOver) * rate}, capped at the bracket's maximum.
+ * Values and amounts are in centavos (see {@link Money}) and rates in millionths
+ * ({@link #RATE_SCALE}); the rate part is rounded to the nearest centavo.
+ * Looking up a value is a binary search over the bounds.
+ */
+public class RateTable {
+    // Rates are stored as millionths, so 1.5% is 15,000
+    public static final long RATE_SCALE = 1_000_000;
+    // Marks a bracket without an upper bound or without a maximum
+    public static final long NO_LIMIT = Long.MAX_VALUE;
+
+    // Inclusive upper bounds; exclusive bounds are stored one centavo lower, which is equivalent
+    private final long[] upperBounds;
+    private final long[] fixedAmounts;
+    private final long[] rates;
+    private final long[] excessOver;
+    private final long[] maximums;
+
+    /**
+     * Constructs a table from its brackets, in increasing order of bound.
+     * @param upperBounds The upper bound of each bracket in centavos; the last one must be {@link #NO_LIMIT}.
+     * @param inclusive Whether a value equal to the bound still belongs to the bracket.
+     * @param fixedAmounts The fixed part of the amount of each bracket, in centavos.
+     * @param rates The rate applied to the part of the value above excessOver, in millionths (0 for a fixed amount).
+     * @param excessOver The value the rate is applied above, in centavos.
+     * @param maximums The cap of each bracket's amount in centavos ({@link #NO_LIMIT} for none).
+     * @throws IllegalArgumentException If the arrays differ in length, are empty, the bounds
+     *                                  are not strictly increasing or the last bracket is bounded.
+     */
+    public RateTable(long[] upperBounds, boolean[] inclusive, long[] fixedAmounts,
+                     long[] rates, long[] excessOver, long[] maximums) {
+        int brackets = upperBounds.length;
+        if (brackets == 0 || inclusive.length != brackets || fixedAmounts.length != brackets
+                || rates.length != brackets || excessOver.length != brackets || maximums.length != brackets) {
+            throw new IllegalArgumentException("Rate table needs the same number of values for every bracket column");
+        }
+        for (int i = 1; i < brackets; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Rate table bounds must be increasing: " + upperBounds[i - 1] + ", " + upperBounds[i]);
+            }
+        }
+        if (upperBounds[brackets - 1] != NO_LIMIT) {
+            throw new IllegalArgumentException("The last bracket of a rate table must not have an upper bound");
+        }
+        this.upperBounds = new long[brackets];
+        for (int i = 0; i < brackets; i++) {
+            this.upperBounds[i] = inclusive[i] ? upperBounds[i] : upperBounds[i] - 1;
+        }
+        this.fixedAmounts = fixedAmounts.clone();
+        this.rates = rates.clone();
+        this.excessOver = excessOver.clone();
+        this.maximums = maximums.clone();
+    }
+
+    /**
+     * Returns the amount for a value, e.g. the contribution for a monthly salary, in centavos.
+     */
+    public long getAmount(long value) {
+        int bracket = findBracket(value);
+        if (rates[bracket] == 0) {
+            return fixedAmounts[bracket];
+        }
+        long amount = fixedAmounts[bracket] + Money.multiplyAndDivide(value - excessOver[bracket], rates[bracket], RATE_SCALE);
+        return Math.min(amount, maximums[bracket]);
+    }
+
+    /**
+     * Returns the number of brackets.
+     */
+    public int size() {
+        return upperBounds.length;
+    }
+
+    // Finds the first bracket the value fits in, halving the candidate range each step without
+    // branching on the comparison
+    private int findBracket(long value) {
+        int first = 0;
+        int remaining = upperBounds.length;
+        while (remaining > 1) {
+            int half = remaining >>> 1;
+            first += value <= upperBounds[first + half - 1] ? 0 : half;
+            remaining -= half;
+        }
+        return first;
+    }
+
+    /**
+     * Returns the SSS schedule that was hard-coded before the tables were read from files:
+     * PHP 135.00 below 3,250, then PHP 22.50 more for every further 500 up to 24,750,
+     * and PHP 1,125.00 above that.
+     */
+    public static RateTable getDefaultSss() {
+        int brackets = 45;
+        Builder builder = new Builder();
+        for (int i = 0; i < brackets; i++) {
+            builder.add(i < brackets - 1 ? (3250 + 500 * i) * Money.CENTAVOS_PER_PESO : NO_LIMIT, i > 0, 13500 + 2250 * i, 0, 0, NO_LIMIT);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the 2023 PhilHealth schedule: PHP 150.00 up to 10,000, 1.5% below 60,000 and PHP 900.00 from there.
+     */
+    public static RateTable getDefaultPhilHealth() {
+        return new Builder()
+                .add(1000000, true, 15000, 0, 0, NO_LIMIT)
+                .add(6000000, false, 0, 15000, 0, NO_LIMIT)
+                .add(NO_LIMIT, true, 90000, 0, 0, NO_LIMIT)
+                .build();
+    }
+
+    /**
+     * Returns the 2023 Pag-IBIG schedule: 1% up to 1,500, then 2% up to PHP 100.00.
+     */
+    public static RateTable getDefaultPagIbig() {
+        return new Builder()
+                .add(150000, true, 0, 10000, 0, NO_LIMIT)
+                .add(NO_LIMIT, true, 0, 20000, 0, 10000)
+                .build();
+    }
+
+    /**
+     * Returns the withholding tax schedule on monthly taxable income that was hard-coded before
+     * the tables were read from files.
+     */
+    public static RateTable getDefaultWithholdingTax() {
+        return new Builder()
+                .add(2083300, true, 0, 0, 0, NO_LIMIT)
+                .add(3333300, true, 0, 200000, 2083300, NO_LIMIT)
+                .add(6666700, true, 250000, 250000, 3333300, NO_LIMIT)
+                .add(16666700, true, 1083300, 300000, 6666700, NO_LIMIT)
+                .add(66666700, true, 4083333, 320000, 16666700, NO_LIMIT)
+                .add(NO_LIMIT, true, 20083333, 350000, 66666700, NO_LIMIT)
+                .build();
+    }
+
+    /**
+     * Collects brackets one at a time, e.g. while reading them from a file.
+     */
+    public static class Builder {
+        private long[] upperBounds = new long[8];
+        private boolean[] inclusive = new boolean[8];
+        private long[] fixedAmounts = new long[8];
+        private long[] rates = new long[8];
+        private long[] excessOver = new long[8];
+        private long[] maximums = new long[8];
+        private int size;
+
+        /**
+         * Adds the next bracket; see {@link RateTable#RateTable} for the meaning and units of the values.
+         */
+        public Builder add(long upperBound, boolean isInclusive, long fixedAmount, long rate, long over, long maximum) {
+            if (size == upperBounds.length) {
+                int capacity = size * 2;
+                upperBounds = Arrays.copyOf(upperBounds, capacity);
+                inclusive = Arrays.copyOf(inclusive, capacity);
+                fixedAmounts = Arrays.copyOf(fixedAmounts, capacity);
+                rates = Arrays.copyOf(rates, capacity);
+                excessOver = Arrays.copyOf(excessOver, capacity);
+                maximums = Arrays.copyOf(maximums, capacity);
+            }
+            upperBounds[size] = upperBound;
+            inclusive[size] = isInclusive;
+            fixedAmounts[size] = fixedAmount;
+            rates[size] = rate;
+            excessOver[size] = over;
+            maximums[size] = maximum;
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the table.
+         * @throws IllegalArgumentException If the brackets do not form a valid table.
+         */
+        public RateTable build() {
+            return new RateTable(Arrays.copyOf(upperBounds, size), Arrays.copyOf(inclusive, size),
+                    Arrays.copyOf(fixedAmounts, size), Arrays.copyOf(rates, size),
+                    Arrays.copyOf(excessOver, size), Arrays.copyOf(maximums, size));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package motorph;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The versions of one contribution or tax schedule, each with the date it takes effect.
+ * The version in effect on a date is found with a floor lookup in a sorted map, in O(log n).
+ * Dates before the first version use the first version.
+ */
+public class RateTableHistory {
+    private final NavigableMap<LocalDate, RateTable> versions;
+
+    /**
+     * Constructs a history from its versions.
+     * @param versions The tables keyed by the date they take effect; must not be empty.
+     * @throws IllegalArgumentException If there are no versions.
+     */
+    public RateTableHistory(Map<LocalDate, RateTable> versions) {
+        if (versions.isEmpty()) {
+            throw new IllegalArgumentException("A rate table history needs at least one version");
+        }
+        this.versions = new TreeMap<>(versions);
+    }
+
+    /**
+     * Returns a history with a single version that is in effect on every date.
+     */
+    public static RateTableHistory of(RateTable table) {
+        return new RateTableHistory(Collections.singletonMap(LocalDate.MIN, table));
+    }
+
+    /**
+     * Returns the version in effect on a date.
+     */
+    public RateTable getTable(LocalDate date) {
+        Map.Entry<LocalDate, RateTable> version = versions.floorEntry(date);
+        return version != null ? version.getValue() : versions.firstEntry().getValue();
+    }
+
+    /**
+     * Returns the number of versions.
+     */
+    public int size() {
+        return versions.size();
+    }
+}
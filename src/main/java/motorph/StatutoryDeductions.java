@@ -0,0 +1,33 @@
+package motorph;
+
+/**
+ * The monthly government contributions and withholding tax for one monthly salary under one
+ * version of the rate tables, in centavos. They depend on nothing else, so they are computed
+ * once per distinct salary and shared through {@link DeductionCache}.
+ */
+public final class StatutoryDeductions {
+    private final long sss;
+    private final long philHealth;
+    private final long pagIbig;
+    private final long withholdingTax;
+
+    public StatutoryDeductions(long sss, long philHealth, long pagIbig, long withholdingTax) {
+        this.sss = sss;
+        this.philHealth = philHealth;
+        this.pagIbig = pagIbig;
+        this.withholdingTax = withholdingTax;
+    }
+
+    // Getters
+    public long getSss() { return sss; }
+    public long getPhilHealth() { return philHealth; }
+    public long getPagIbig() { return pagIbig; }
+    public long getWithholdingTax() { return withholdingTax; }
+
+    /**
+     * Returns the SSS, PhilHealth and Pag-IBIG contributions together.
+     */
+    public long getGovernmentContributions() {
+        return sss + philHealth + pagIbig;
+    }
+}
@@ -0,0 +1,62 @@
+package motorph;
+
+import java.time.LocalTime;
+
+/**
+ * Helpers for attendance times stored as minutes since midnight.
+ * Every minute of the day has one shared LocalTime, so converting back and forth
+ * does not allocate.
+ */
+public final class TimeOfDay {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final LocalTime[] TIMES = new LocalTime[MINUTES_PER_DAY];
+    static {
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            TIMES[minute] = LocalTime.of(minute / 60, minute % 60);
+        }
+    }
+
+    private TimeOfDay() {}
+
+    /**
+     * Returns the shared LocalTime for a minute of the day (0 to 1439).
+     */
+    public static LocalTime toLocalTime(int minuteOfDay) {
+        return TIMES[minuteOfDay];
+    }
+
+    /**
+     * Returns the minute of the day of a time, ignoring seconds.
+     */
+    public static int toMinuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Parses an "H:mm" or "HH:mm" time (00:00 to 23:59) without throwing.
+     * @param text The text to parse.
+     * @return The minute of the day, or -1 if the text is not in one of those formats.
+     */
+    public static int parseMinuteOfDay(CharSequence text) {
+        int length = text.length();
+        if ((length != 4 && length != 5) || text.charAt(length - 3) != ':') {
+            return -1;
+        }
+        int hour = digit(text.charAt(0));
+        if (length == 5) {
+            int secondDigit = digit(text.charAt(1));
+            hour = hour < 0 || secondDigit < 0 ? -1 : hour * 10 + secondDigit;
+        }
+        int minuteTens = digit(text.charAt(length - 2));
+        int minuteOnes = digit(text.charAt(length - 1));
+        if (hour < 0 || hour > 23 || minuteTens < 0 || minuteTens > 5 || minuteOnes < 0) {
+            return -1;
+        }
+        return hour * 60 + minuteTens * 10 + minuteOnes;
+    }
+
+    private static int digit(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+}
@@ -0,0 +1,142 @@
+package motorph;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide, in-memory view of the posted payroll totals, with a running year-to-date
+ * accumulator per employee and year. Posting a payroll month adds its totals to the year's
+ * accumulator; posting the same month again (e.g. after an attendance correction) replaces
+ * the whole earlier posting by adding only the difference, so employees missing from the new
+ * posting are taken out of the month. Year-end figures such as the 13th month
+ * pay are then read from the accumulator instead of recomputing a year of attendance.
+ * The postings are loaded once, on first use, and saved by {@link FileHandler}.
+ */
+public class YearToDateStore {
+    private final Supplier<Map<String, Map<YearMonth, YearToDateTotals>>> loader;
+
+    private Map<String, TreeMap<YearMonth, YearToDateTotals>> postings;
+    private Map<String, Map<Integer, YearToDateTotals>> yearTotals;
+
+    /**
+     * Creates a store.
+     * @param loader Reads the postings, keyed by employee ID and then by payroll month.
+     */
+    public YearToDateStore(Supplier<Map<String, Map<YearMonth, YearToDateTotals>>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns an employee's totals for a year so far, or {@link YearToDateTotals#ZERO} if nothing was posted.
+     */
+    public synchronized YearToDateTotals getYearTotals(String employeeId, int year) {
+        load();
+        Map<Integer, YearToDateTotals> years = yearTotals.get(employeeId);
+        YearToDateTotals totals = years != null ? years.get(year) : null;
+        return totals != null ? totals : YearToDateTotals.ZERO;
+    }
+
+    /**
+     * Returns the totals posted for an employee's payroll month, or null if it was not posted.
+     */
+    public synchronized YearToDateTotals getPosting(String employeeId, YearMonth month) {
+        load();
+        Map<YearMonth, YearToDateTotals> months = postings.get(employeeId);
+        return months != null ? months.get(month) : null;
+    }
+
+    /**
+     * Posts or reposts the totals of one payroll month and updates the year-to-date accumulators.
+     * The new totals replace the month's earlier posting as a whole: employees that were posted
+     * before but are not in the new totals are removed from the month.
+     * @param month The payroll month.
+     * @param totalsById The month's totals keyed by employee ID.
+     */
+    public synchronized void post(YearMonth month, Map<String, YearToDateTotals> totalsById) {
+        load();
+        for (String employeeId : new ArrayList<>(postings.keySet())) {
+            if (!totalsById.containsKey(employeeId)) {
+                remove(employeeId, month);
+            }
+        }
+        for (Map.Entry<String, YearToDateTotals> entry : totalsById.entrySet()) {
+            add(entry.getKey(), month, entry.getValue());
+        }
+    }
+
+    /**
+     * Reposts the totals of some employees for one payroll month, e.g. after their attendance
+     * was corrected, and leaves the other employees' postings for the month as they are.
+     * @param month The payroll month.
+     * @param totalsById The new totals keyed by employee ID; null removes the employee's posting.
+     */
+    public synchronized void update(YearMonth month, Map<String, YearToDateTotals> totalsById) {
+        load();
+        for (Map.Entry<String, YearToDateTotals> entry : totalsById.entrySet()) {
+            if (entry.getValue() != null) {
+                add(entry.getKey(), month, entry.getValue());
+            } else {
+                remove(entry.getKey(), month);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of all postings keyed by employee ID and then by payroll month, for saving.
+     */
+    public synchronized Map<String, Map<YearMonth, YearToDateTotals>> getPostings() {
+        load();
+        Map<String, Map<YearMonth, YearToDateTotals>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, TreeMap<YearMonth, YearToDateTotals>> entry : postings.entrySet()) {
+            copy.put(entry.getKey(), new TreeMap<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * Drops the loaded postings so the next access reads them again, e.g. after saving failed.
+     */
+    public synchronized void invalidate() {
+        postings = null;
+        yearTotals = null;
+    }
+
+    private void load() {
+        if (postings != null) {
+            return;
+        }
+        postings = new LinkedHashMap<>();
+        yearTotals = new HashMap<>();
+        for (Map.Entry<String, Map<YearMonth, YearToDateTotals>> employee : loader.get().entrySet()) {
+            for (Map.Entry<YearMonth, YearToDateTotals> posting : employee.getValue().entrySet()) {
+                add(employee.getKey(), posting.getKey(), posting.getValue());
+            }
+        }
+    }
+
+    // Replaces a posting and moves the year's accumulator by the difference
+    private void add(String employeeId, YearMonth month, YearToDateTotals totals) {
+        YearToDateTotals previous = postings.computeIfAbsent(employeeId, id -> new TreeMap<>()).put(month, totals);
+        YearToDateTotals delta = previous != null ? totals.minus(previous) : totals;
+        yearTotals.computeIfAbsent(employeeId, id -> new HashMap<>())
+                .merge(month.getYear(), delta, YearToDateTotals::plus);
+    }
+
+    // Removes a posting, if any, and takes it out of the year's accumulator
+    private void remove(String employeeId, YearMonth month) {
+        TreeMap<YearMonth, YearToDateTotals> months = postings.get(employeeId);
+        YearToDateTotals previous = months != null ? months.remove(month) : null;
+        if (previous == null) {
+            return;
+        }
+        if (months.isEmpty()) {
+            postings.remove(employeeId);
+        }
+        yearTotals.get(employeeId).merge(month.getYear(), YearToDateTotals.ZERO.minus(previous), YearToDateTotals::plus);
+    }
+}
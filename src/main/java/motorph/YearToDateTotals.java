@@ -0,0 +1,65 @@
+package motorph;
+
+import java.util.List;
+
+/**
+ * Payroll totals of one employee over a period (a payroll month or a year so far), in centavos:
+ * gross pay, basic pay earned, government contributions and withholding tax.
+ * Basic pay is the pay for regular hours less late deductions, without overtime, premiums
+ * or allowances, which is what the 13th month pay is based on.
+ */
+public final class YearToDateTotals {
+    public static final YearToDateTotals ZERO = new YearToDateTotals(0, 0, 0, 0);
+
+    private final long grossPay;
+    private final long basicPay;
+    private final long contributions;
+    private final long withholdingTax;
+
+    public YearToDateTotals(long grossPay, long basicPay, long contributions, long withholdingTax) {
+        this.grossPay = grossPay;
+        this.basicPay = basicPay;
+        this.contributions = contributions;
+        this.withholdingTax = withholdingTax;
+    }
+
+    /**
+     * Adds up the weekly results of a payroll month.
+     */
+    public static YearToDateTotals of(List<PayrollResult> weeks) {
+        long grossPay = 0;
+        long basicPay = 0;
+        long contributions = 0;
+        long withholdingTax = 0;
+        for (PayrollResult week : weeks) {
+            grossPay += week.getGrossPay();
+            basicPay += week.getRegularPay() - week.getLateDeduction();
+            contributions += week.getGovernmentDeductions();
+            withholdingTax += week.getWithholdingTax();
+        }
+        return new YearToDateTotals(grossPay, basicPay, contributions, withholdingTax);
+    }
+
+    // Getters
+    public long getGrossPay() { return grossPay; }
+    public long getBasicPay() { return basicPay; }
+    public long getContributions() { return contributions; }
+    public long getWithholdingTax() { return withholdingTax; }
+
+    /**
+     * Returns the 13th month pay for the year: one twelfth of the basic pay earned.
+     */
+    public long getThirteenthMonthPay() {
+        return Money.multiplyAndDivide(basicPay, 1, 12);
+    }
+
+    public YearToDateTotals plus(YearToDateTotals other) {
+        return new YearToDateTotals(grossPay + other.grossPay, basicPay + other.basicPay,
+                contributions + other.contributions, withholdingTax + other.withholdingTax);
+    }
+
+    public YearToDateTotals minus(YearToDateTotals other) {
+        return new YearToDateTotals(grossPay - other.grossPay, basicPay - other.basicPay,
+                contributions - other.contributions, withholdingTax - other.withholdingTax);
+    }
+}
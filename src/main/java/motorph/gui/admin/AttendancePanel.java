@@ -4,12 +4,12 @@ import javax.swing.table.DefaultTableModel;
 import java.util.List;
 import motorph.Attendance;
 import motorph.FileHandler;
+import motorph.PayrollCalendar;
 import java.time.LocalDate;
-import java.time.DayOfWeek;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.TemporalAdjusters;
 import javax.swing.JOptionPane;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
@@ -55,10 +55,10 @@ public class AttendancePanel extends javax.swing.JPanel {
      */
     private void loadAttendanceData() {
         try {
-            List<Attendance> attendanceRecords = fileHandler.getAllAttendanceRecords();
             tableModel.setRowCount(0); 
 
-            for (Attendance record : attendanceRecords) {
+            // Read the records in place; the table keeps the values, not the records
+            fileHandler.forEachAttendanceRecord(record -> {
                 Object[] rowData = {
                     record.getEmployeeId(),
                     record.getDate(),
@@ -66,7 +66,7 @@ public class AttendancePanel extends javax.swing.JPanel {
                     record.getTimeOut()
                 };
                 tableModel.addRow(rowData);
-            }
+            });
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Error loading attendance data: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -77,13 +77,10 @@ public class AttendancePanel extends javax.swing.JPanel {
      */
     private void populateEmployeeFilter() {
         try {
-            List<Attendance> attendanceRecords = fileHandler.getAllAttendanceRecords();
             employeeIdComboBox.removeAllItems(); 
             employeeIdComboBox.addItem("All"); 
 
-            List<String> sortedEmployeeIds = attendanceRecords.stream()
-                .map(Attendance::getEmployeeId)
-                .distinct()
+            List<String> sortedEmployeeIds = fileHandler.getAttendanceEmployeeIds().stream()
                 .sorted(Comparator.comparingInt(Integer::parseInt))
                 .collect(Collectors.toList());
 
@@ -101,10 +98,8 @@ public class AttendancePanel extends javax.swing.JPanel {
      */
     private void populateMonthFilter() {
         try {
-            List<Attendance> records = fileHandler.getAllAttendanceRecords();
-            Set<YearMonth> payrollMonths = records.stream()
-                .map(record -> YearMonth.from(record.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))))
-                .collect(Collectors.toSet());
+            Set<YearMonth> payrollMonths = new HashSet<>();
+            fileHandler.forEachAttendanceRecord(record -> payrollMonths.add(PayrollCalendar.getPayrollMonth(record.getDate())));
 
             monthComboBox.removeAllItems(); 
             monthComboBox.addItem("All Months"); 
@@ -132,12 +127,11 @@ public class AttendancePanel extends javax.swing.JPanel {
 
         try {
             YearMonth selectedPayrollMonth = YearMonth.parse(selectedMonthItem.toString(), DateTimeFormatter.ofPattern("MMMM yyyy"));
-            List<Attendance> records = fileHandler.getAllAttendanceRecords();
+            List<Attendance> records = fileHandler.getAttendanceRecordsForPayrollMonth(selectedPayrollMonth);
 
             // Find all unique Mondays from weeks that belong to the selected payroll month
             weekStartDates = records.stream()
-                .filter(record -> YearMonth.from(record.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))).equals(selectedPayrollMonth))
-                .map(record -> record.getDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)))
+                .map(record -> PayrollCalendar.getWeekStart(record.getDate()))
                 .distinct()
                 .sorted()
                 .collect(Collectors.toList());
@@ -160,21 +154,18 @@ public class AttendancePanel extends javax.swing.JPanel {
             String monthStr = monthComboBox.getSelectedItem() != null ? monthComboBox.getSelectedItem().toString() : "All Months";
             int weekIndex = weekComboBox.getSelectedIndex(); // 0 for "All Weeks"
 
-            List<Attendance> filteredRecords = fileHandler.getAllAttendanceRecords();
-
-            // Filter by Employee ID
-            if (!"All".equals(employeeId)) {
-                filteredRecords = filteredRecords.stream()
-                    .filter(record -> record.getEmployeeId().equals(employeeId))
-                    .collect(Collectors.toList());
-            }
-            
-            // Filter by Payroll Month
+            // Look up by Employee ID and Payroll Month through the attendance index
+            List<Attendance> filteredRecords;
+            boolean allEmployees = "All".equals(employeeId);
             if (!"All Months".equals(monthStr)) {
                 YearMonth selectedPayrollMonth = YearMonth.parse(monthStr, DateTimeFormatter.ofPattern("MMMM yyyy"));
-                filteredRecords = filteredRecords.stream()
-                    .filter(record -> YearMonth.from(record.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))).equals(selectedPayrollMonth))
-                    .collect(Collectors.toList());
+                filteredRecords = allEmployees
+                    ? fileHandler.getAttendanceRecordsForPayrollMonth(selectedPayrollMonth)
+                    : fileHandler.getAttendanceRecordsForPayrollMonth(employeeId, selectedPayrollMonth);
+            } else {
+                filteredRecords = allEmployees
+                    ? fileHandler.getAllAttendanceRecords()
+                    : fileHandler.getAttendanceRecords(employeeId);
             }
             
             // Filter by the selected week range
@@ -6,10 +6,9 @@ import java.awt.event.ActionListener;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
 import java.util.List;
 import motorph.PayrollCalculator;
+import motorph.PayrollResult;
 import motorph.FileHandler;
 import motorph.Employee;
 import java.util.ArrayList;
@@ -153,21 +152,9 @@ public class PayrollFrame extends JFrame {
             // Convert week index to a number (0 for All, 1 for Week 1, etc.)
             int selectedWeek = selectedWeekIndex; // The index directly corresponds to the week number (0=All, 1=Week 1)
 
-            // Redirect System.out to capture the payroll output
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PrintStream ps = new PrintStream(baos);
-            PrintStream old = System.out; // Store original System.out
-            System.setOut(ps); // Set System.out to the new stream
-
-            // Call the payroll calculation logic
-            payrollCalculator.processPayroll(currentEmployee.getEmployeeId(), selectedMonth, selectedWeek);
-
-            // Restore original System.out
-            System.out.flush();
-            System.setOut(old);
-
-            // Display the captured output
-            String payrollResults = baos.toString();
+            // Finalized months come from the payroll ledger, open ones are calculated; then format them for display
+            List<PayrollResult> weeks = payrollCalculator.getPayslip(currentEmployee.getEmployeeId(), selectedMonth);
+            String payrollResults = payrollCalculator.formatPayrollReport(currentEmployee, selectedMonth, selectedWeek, weeks);
             if (payrollResults == null || payrollResults.trim().isEmpty()) {
                 resultTextArea.setText("No payroll data available for the selected criteria.");
             } else {
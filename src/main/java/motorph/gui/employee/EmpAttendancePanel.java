@@ -4,12 +4,12 @@ import javax.swing.table.DefaultTableModel;
 import java.util.List;
 import motorph.Attendance;
 import motorph.FileHandler;
+import motorph.PayrollCalendar;
 import java.time.LocalDate;
-import java.time.DayOfWeek;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.TemporalAdjusters;
 import javax.swing.JOptionPane;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
@@ -63,13 +63,9 @@ public class EmpAttendancePanel extends javax.swing.JPanel {
      */
     private void populateMonthFilter() {
         try {
-            List<Attendance> records = fileHandler.getAllAttendanceRecords().stream()
-                .filter(record -> record.getEmployeeId() != null && record.getEmployeeId().equals(this.loggedInEmployeeId))
-                .collect(Collectors.toList());
-
-            Set<YearMonth> payrollMonths = records.stream()
-                .map(record -> YearMonth.from(record.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))))
-                .collect(Collectors.toSet());
+            Set<YearMonth> payrollMonths = new HashSet<>();
+            fileHandler.forEachAttendanceRecord(this.loggedInEmployeeId,
+                record -> payrollMonths.add(PayrollCalendar.getPayrollMonth(record.getDate())));
 
             monthComboBox.removeAllItems(); 
             monthComboBox.addItem("All Months"); 
@@ -97,13 +93,10 @@ public class EmpAttendancePanel extends javax.swing.JPanel {
 
         try {
             YearMonth selectedPayrollMonth = YearMonth.parse(selectedMonthItem.toString(), DateTimeFormatter.ofPattern("MMMM yyyy"));
-            List<Attendance> records = fileHandler.getAllAttendanceRecords().stream()
-                 .filter(record -> record.getEmployeeId() != null && record.getEmployeeId().equals(this.loggedInEmployeeId))
-                .collect(Collectors.toList());
+            List<Attendance> records = fileHandler.getAttendanceRecordsForPayrollMonth(this.loggedInEmployeeId, selectedPayrollMonth);
 
             weekStartDates = records.stream()
-                .filter(record -> YearMonth.from(record.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))).equals(selectedPayrollMonth))
-                .map(record -> record.getDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)))
+                .map(record -> PayrollCalendar.getWeekStart(record.getDate()))
                 .distinct()
                 .sorted()
                 .collect(Collectors.toList());
@@ -125,15 +118,12 @@ public class EmpAttendancePanel extends javax.swing.JPanel {
             String monthStr = monthComboBox.getSelectedItem() != null ? monthComboBox.getSelectedItem().toString() : "All Months";
             int weekIndex = weekComboBox.getSelectedIndex();
 
-            List<Attendance> filteredRecords = fileHandler.getAllAttendanceRecords().stream()
-                .filter(record -> record.getEmployeeId() != null && record.getEmployeeId().equals(this.loggedInEmployeeId))
-                .collect(Collectors.toList());
-
+            List<Attendance> filteredRecords;
             if (!"All Months".equals(monthStr)) {
                 YearMonth selectedPayrollMonth = YearMonth.parse(monthStr, DateTimeFormatter.ofPattern("MMMM yyyy"));
-                filteredRecords = filteredRecords.stream()
-                    .filter(record -> YearMonth.from(record.getDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY))).equals(selectedPayrollMonth))
-                    .collect(Collectors.toList());
+                filteredRecords = fileHandler.getAttendanceRecordsForPayrollMonth(this.loggedInEmployeeId, selectedPayrollMonth);
+            } else {
+                filteredRecords = fileHandler.getAttendanceRecords(this.loggedInEmployeeId);
             }
 
             if (weekIndex > 0) {
@@ -60,15 +60,8 @@ public class EmpDashboardPanel extends javax.swing.JPanel {
      */
     private void loadRecentAttendance() {
          if (attendanceTable != null && attendanceTableModel != null) {
-            List<Attendance> allAttendanceRecords = fileHandler.getAllAttendanceRecords();
-
-            // Filter records to only include the logged in employee
-            List<Attendance> loggedInEmployeeAttendance = new java.util.ArrayList<>();
-            for (Attendance record : allAttendanceRecords) {
-                if (record.getEmployeeId() != null && record.getEmployeeId().equals(String.valueOf(this.loggedInEmployeeNumber))) {
-                    loggedInEmployeeAttendance.add(record);
-                }
-            }
+            // Get only the records of the logged in employee
+            List<Attendance> loggedInEmployeeAttendance = fileHandler.getAttendanceRecords(String.valueOf(this.loggedInEmployeeNumber));
 
             // Sort records by date (newest first)
             loggedInEmployeeAttendance.sort(Comparator.comparing(Attendance::getDate).reversed()
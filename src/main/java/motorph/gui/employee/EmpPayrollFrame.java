@@ -4,10 +4,9 @@ import javax.swing.*;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
 import java.util.List;
 import motorph.PayrollCalculator;
+import motorph.PayrollResult;
 import motorph.FileHandler;
 import motorph.Employee;
 import java.util.ArrayList;
@@ -130,18 +129,9 @@ public class EmpPayrollFrame extends JFrame {
             updateEmployeeDetails();
             int selectedWeek = selectedWeekIndex; 
 
-            // Redirect System.out to capture the payroll report from PayrollCalculator
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PrintStream ps = new PrintStream(baos);
-            PrintStream old = System.out; 
-            System.setOut(ps);
-
-            payrollCalculator.processPayroll(currentEmployee.getEmployeeId(), selectedMonth, selectedWeek);
-
-            System.out.flush();
-            System.setOut(old);
-
-            String payrollResults = baos.toString();
+            // Finalized months come from the payroll ledger, open ones are calculated; then format them for display
+            List<PayrollResult> weeks = payrollCalculator.getPayslip(currentEmployee.getEmployeeId(), selectedMonth);
+            String payrollResults = payrollCalculator.formatPayrollReport(currentEmployee, selectedMonth, selectedWeek, weeks);
             if (payrollResults == null || payrollResults.trim().isEmpty()) {
                 resultTextArea.setText("No payroll data available for the selected criteria.");
             } else {
@@ -0,0 +1,151 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.opencsv.CSVReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AttendanceCsvParserTest {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("H:mm");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void smallFileMatchesOpencsv() throws Exception {
+        Path file = writeAttendance(2_000, 1);
+        assertMatchesOpencsv(file);
+    }
+
+    @Test
+    void largeFileMatchesOpencsv() throws Exception {
+        // Large enough for the parallel path when the common pool has more than one thread
+        Path file = writeAttendance(150_000, 2);
+        assertTrue(Files.size(file) > 4L * 1024 * 1024);
+        assertMatchesOpencsv(file);
+    }
+
+    @Test
+    void headerOnlyFileHasNoRecords() throws Exception {
+        Path file = tempDir.resolve("empty.csv");
+        Files.write(file, FileHandler.ATTENDANCE_HEADER.getBytes(StandardCharsets.UTF_8));
+        PackedAttendance records = new PackedAttendance();
+        AttendanceCsvParser.parse(file.toString(), records, row -> { });
+        assertEquals(0, records.size());
+    }
+
+    // Parses the file with the fast parser, sending its fallback rows through the reference
+    // decoder, and compares the result with decoding every row that opencsv reads
+    private static void assertMatchesOpencsv(Path file) throws Exception {
+        PackedAttendance actual = new PackedAttendance();
+        AttendanceCsvParser.parse(file.toString(), actual, row -> decode(row, actual));
+
+        PackedAttendance expected = new PackedAttendance();
+        try (CSVReader reader = new CSVReader(new FileReader(file.toFile()))) {
+            reader.readNext(); // Skip header
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                decode(row, expected);
+            }
+        }
+
+        assertEquals(describe(expected), describe(actual));
+    }
+
+    // Decodes one row the way the attendance file is specified, skipping rows that do not fit
+    private static void decode(String[] row, PackedAttendance records) {
+        if (row.length < 6) {
+            return;
+        }
+        try {
+            LocalDate date = LocalDate.parse(row[3], DATE_FORMATTER);
+            LocalTime timeIn = row[4].isEmpty() ? null : LocalTime.parse(row[4], TIME_FORMATTER);
+            LocalTime timeOut = row[5].isEmpty() ? null : LocalTime.parse(row[5], TIME_FORMATTER);
+            records.put(new Attendance(row[0], date, timeIn, timeOut));
+        } catch (DateTimeParseException e) {
+            // Skipped by both sides
+        }
+    }
+
+    private static List<String> describe(PackedAttendance records) {
+        List<String> rows = new ArrayList<>();
+        PackedAttendance.Cursor cursor = records.cursor();
+        for (int row = 0; row < records.size(); row++) {
+            cursor.moveTo(row);
+            rows.add(cursor.getEmployeeId() + " " + cursor.getDate() + " " + cursor.getTimeIn() + " " + cursor.getTimeOut());
+        }
+        return rows;
+    }
+
+    // Writes an attendance file with regular rows and, now and then, rows that need opencsv:
+    // quoted values, a comma inside a name, Windows line ends, empty times, blank lines and
+    // values that are not valid dates or times
+    private Path writeAttendance(int rows, long seed) throws IOException {
+        Random random = new Random(seed);
+        Path file = tempDir.resolve("attendance-" + rows + ".csv");
+        LocalDate firstDate = LocalDate.of(2024, 6, 3);
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(FileHandler.ATTENDANCE_HEADER);
+            out.write("\n");
+            for (int i = 0; i < rows; i++) {
+                String employeeId = String.valueOf(10001 + random.nextInt(60));
+                String date = firstDate.plusDays(random.nextInt(400)).format(DATE_FORMATTER);
+                String timeIn = random.nextInt(8) + 6 + ":" + pad(random.nextInt(60));
+                String timeOut = random.nextInt(8) + 15 + ":" + pad(random.nextInt(60));
+                String lineEnd = "\n";
+                switch (random.nextInt(40)) {
+                    case 0:
+                        out.write("\"" + employeeId + "\",\"Garcia, Jr.\",\"Manuel\",\"" + date + "\",\"" + timeIn + "\",\"" + timeOut + "\"");
+                        break;
+                    case 1:
+                        out.write(employeeId + ",Lim,Antonio," + date + "," + timeIn + ",");
+                        break;
+                    case 2:
+                        out.write(employeeId + ",Lim,Antonio," + date + "," + (timeIn.length() == 4 ? "0" : "") + timeIn + "," + timeOut);
+                        lineEnd = "\r\n";
+                        break;
+                    case 3:
+                        out.write(employeeId + ",Lim,Antonio,13/45/2024," + timeIn + "," + timeOut);
+                        break;
+                    case 4:
+                        out.write(employeeId + ",Lim,Antonio," + date + ",24:00," + timeOut);
+                        break;
+                    case 5:
+                        out.write(employeeId + ",Lim,Antonio," + date);
+                        break;
+                    case 6:
+                        out.write("\n");
+                        out.write(employeeId + ",Lim,Antonio," + date + "," + timeIn + "," + timeOut);
+                        break;
+                    default:
+                        out.write(employeeId + ",Lim,Antonio," + date + "," + timeIn + "," + timeOut);
+                }
+                // The last line has no line end
+                if (i < rows - 1) {
+                    out.write(lineEnd);
+                }
+            }
+        }
+        return file;
+    }
+
+    private static String pad(int value) {
+        return value < 10 ? "0" + value : String.valueOf(value);
+    }
+}
@@ -0,0 +1,87 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Times the indexed attendance lookups (one record by employee and date, and an employee's
+ * payroll month) against scanning every record, as the lookups did before the index.
+ */
+@Tag(Benchmarks.TAG)
+class AttendanceLookupBenchmark {
+    private static final int EMPLOYEES = 100;
+    private static final int DAYS = 2_000;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+
+    @Test
+    void indexedLookups() {
+        List<Attendance> list = new ArrayList<>(EMPLOYEES * DAYS);
+        for (int day = 0; day < DAYS; day++) {
+            for (int employee = 0; employee < EMPLOYEES; employee++) {
+                list.add(new Attendance(String.valueOf(10001 + employee), FIRST_DATE.plusDays(day), null, null));
+            }
+        }
+        PackedAttendance packed = PackedAttendance.of(list);
+
+        Random random = new Random(7);
+        int lookups = 2_000;
+        String[] employeeIds = new String[lookups];
+        LocalDate[] dates = new LocalDate[lookups];
+        for (int i = 0; i < lookups; i++) {
+            employeeIds[i] = String.valueOf(10001 + random.nextInt(EMPLOYEES));
+            dates[i] = FIRST_DATE.plusDays(random.nextInt(DAYS));
+        }
+
+        double indexed = Benchmarks.nanosPerOperation("Indexed record lookup", lookups, 20, () -> {
+            long found = 0;
+            for (int i = 0; i < lookups; i++) {
+                found += packed.findRow(employeeIds[i], dates[i]) >= 0 ? 1 : 0;
+            }
+            return found;
+        });
+        double scanned = Benchmarks.nanosPerOperation("Scanned record lookup", lookups, 3, () -> {
+            long found = 0;
+            for (int i = 0; i < lookups; i++) {
+                for (Attendance record : list) {
+                    if (record.getEmployeeId().equals(employeeIds[i]) && record.getDate().equals(dates[i])) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+            return found;
+        });
+        System.out.printf("Record lookup speedup: %.0fx%n", scanned / indexed);
+
+        YearMonth month = PayrollCalendar.getPayrollMonth(FIRST_DATE.plusDays(DAYS / 2));
+        LocalDate from = PayrollCalendar.getPayrollMonthStart(month);
+        LocalDate to = PayrollCalendar.getPayrollMonthEnd(month);
+        Benchmarks.nanosPerOperation("Indexed payroll month lookup", lookups, 20, () -> {
+            long rows = 0;
+            for (int i = 0; i < lookups; i++) {
+                rows += packed.findRows(employeeIds[i], from, to).length;
+            }
+            return rows;
+        });
+
+        // Both ways find the same records
+        for (int i = 0; i < 100; i++) {
+            int expected = 0;
+            for (Attendance record : list) {
+                if (record.getEmployeeId().equals(employeeIds[i])
+                        && !record.getDate().isBefore(from) && !record.getDate().isAfter(to)) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, packed.findRows(employeeIds[i], from, to).length);
+            assertEquals(dates[i], packed.get(packed.findRow(employeeIds[i], dates[i])).getDate());
+        }
+    }
+}
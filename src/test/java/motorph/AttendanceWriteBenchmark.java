@@ -0,0 +1,65 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.opencsv.CSVWriter;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Times writing the attendance rows in one pass over an employee ID map, at growing row counts.
+ * The time per row should stay about the same as the rows grow; it grew with the number of
+ * employees per row when every row looked up its employee separately.
+ */
+@Tag(Benchmarks.TAG)
+class AttendanceWriteBenchmark {
+
+    @Test
+    void writeScalesLinearlyWithRows() {
+        FileHandler fileHandler = new FileHandler();
+        List<Employee> employees = fileHandler.readEmployees();
+        for (int rows : new int[]{5_000, 50_000, 500_000}) {
+            List<Attendance> records = generate(employees, rows);
+            CountingWriter out = new CountingWriter();
+            Benchmarks.nanosPerOperation("Write " + rows + " attendance rows", rows, 10, () -> {
+                out.lines = 0;
+                fileHandler.writeAttendanceRows(new CSVWriter(out), records);
+                return out.lines;
+            });
+            assertEquals(rows, out.lines);
+        }
+    }
+
+    private static List<Attendance> generate(List<Employee> employees, int rows) {
+        List<Attendance> records = new ArrayList<>(rows);
+        LocalDate firstDate = LocalDate.of(2024, 6, 3);
+        for (int i = 0; i < rows; i++) {
+            Employee employee = employees.get(i % employees.size());
+            records.add(new Attendance(employee.getEmployeeId(), firstDate.plusDays(i / employees.size()),
+                    LocalTime.of(8, i % 60), LocalTime.of(17, i % 60)));
+        }
+        return records;
+    }
+
+    // Discards the output and counts the lines
+    private static class CountingWriter extends Writer {
+        long lines;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+
+        @Override public void flush() {}
+        @Override public void close() {}
+    }
+}
@@ -0,0 +1,37 @@
+package motorph;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Times small pieces of code for the benchmark tests, which are tagged {@link #TAG} and only run
+ * with the benchmark profile ({@code mvn test -Pbenchmark}).
+ * Each measurement runs the code several times and reports the fastest round, so the first rounds
+ * double as JIT warm-up. The code returns a value that is kept, so the JIT cannot drop the work.
+ */
+final class Benchmarks {
+    static final String TAG = "benchmark";
+
+    private static long sink;
+
+    private Benchmarks() {}
+
+    /**
+     * Runs the code the given number of rounds and prints and returns the best time per operation.
+     * @param name Printed with the result.
+     * @param operations The number of operations one round performs.
+     * @param rounds The number of rounds to run.
+     * @param body One round; returns any value derived from the work.
+     * @return The best time per operation in nanoseconds.
+     */
+    static double nanosPerOperation(String name, int operations, int rounds, LongSupplier body) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            sink += body.getAsLong();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double nanos = best / (double) operations;
+        System.out.printf("%s: %.1f ns/op (best of %d rounds of %,d operations)%n", name, nanos, rounds, operations);
+        return nanos;
+    }
+}
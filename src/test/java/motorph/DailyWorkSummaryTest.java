@@ -0,0 +1,59 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class DailyWorkSummaryTest {
+
+    @Test
+    void nightMinutesMatchCountingEveryMinuteOfTheShift() {
+        for (int timeIn = 0; timeIn < TimeOfDay.MINUTES_PER_DAY; timeIn += 5) {
+            for (int timeOut = 0; timeOut < TimeOfDay.MINUTES_PER_DAY; timeOut += 5) {
+                assertEquals(countNightMinutes(timeIn, timeOut), DailyWorkSummary.calculateNightMinutes(timeIn, timeOut),
+                        "Shift " + timeIn + " to " + timeOut);
+            }
+        }
+    }
+
+    @Test
+    void nightMinutesOfCommonShifts() {
+        // 22:00 to 06:00 is the whole night
+        assertEquals(480, DailyWorkSummary.calculateNightMinutes(22 * 60, 6 * 60));
+        // 18:00 to 02:00 crosses midnight
+        assertEquals(240, DailyWorkSummary.calculateNightMinutes(18 * 60, 2 * 60));
+        // 05:00 to 23:00 touches the end of one night and the start of the next
+        assertEquals(120, DailyWorkSummary.calculateNightMinutes(5 * 60, 23 * 60));
+        assertEquals(0, DailyWorkSummary.calculateNightMinutes(8 * 60, 17 * 60));
+    }
+
+    @Test
+    void daysWithoutBothTimesHaveNoMinutes() {
+        assertEquals(0, DailyWorkSummary.calculateNightMinutes(-1, 23 * 60));
+        assertEquals(0, DailyWorkSummary.calculateNightMinutes(23 * 60, -1));
+        assertEquals(0, DailyWorkSummary.calculateWorkedMinutes(-1, -1));
+    }
+
+    @Test
+    void overtimeAndLatenessAroundTheLimits() {
+        assertEquals(480, DailyWorkSummary.calculateRegularMinutes(8 * 60, 17 * 60));
+        assertEquals(60, DailyWorkSummary.calculateOvertimeMinutes(8 * 60, 17 * 60));
+        assertEquals(0, DailyWorkSummary.calculateLateMinutes(8 * 60 + 10));
+        assertEquals(11, DailyWorkSummary.calculateLateMinutes(8 * 60 + 11));
+        // Night shifts have no 8:00 start to be late for
+        assertEquals(0, DailyWorkSummary.calculateLateMinutes(22 * 60, 6 * 60));
+    }
+
+    // Counts the minutes of the shift whose time of day is from 22:00 to before 06:00
+    private static int countNightMinutes(int timeIn, int timeOut) {
+        int worked = DailyWorkSummary.calculateWorkedMinutes(timeIn, timeOut);
+        int count = 0;
+        for (int i = 0; i < worked; i++) {
+            int minuteOfDay = (timeIn + i) % TimeOfDay.MINUTES_PER_DAY;
+            if (minuteOfDay >= DailyWorkSummary.NIGHT_START_MINUTE || minuteOfDay < DailyWorkSummary.NIGHT_END_MINUTE) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,39 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void duplicateIdsKeepTheFirstRow() throws Exception {
+        Path file = Files.createFile(tempDir.resolve("employees.csv"));
+        List<Employee> rows = Arrays.asList(employee("10001", "Garcia"), employee("10002", "Lim"), employee("10001", "Aquino"));
+        EmployeeRepository repository = new EmployeeRepository(file.toString(), () -> rows);
+
+        assertEquals(2, repository.count());
+        assertEquals("Garcia", repository.findById("10001").getLastName());
+        List<String> ids = new ArrayList<>();
+        for (Employee employee : repository.findAll()) {
+            ids.add(employee.getEmployeeId());
+        }
+        assertEquals(Arrays.asList("10001", "10002"), ids);
+    }
+
+    private static Employee employee(String id, String lastName) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(id);
+        employee.setLastName(lastName);
+        return employee;
+    }
+}
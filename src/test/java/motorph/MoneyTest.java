@@ -0,0 +1,57 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    @Test
+    void multiplyAndDivideRoundsHalvesAwayFromZero() {
+        assertEquals(3, Money.multiplyAndDivide(5, 1, 2));
+        assertEquals(-3, Money.multiplyAndDivide(-5, 1, 2));
+        assertEquals(2, Money.multiplyAndDivide(7, 1, 4));
+        assertEquals(-2, Money.multiplyAndDivide(-7, 1, 4));
+        assertEquals(1, Money.multiplyAndDivide(5, 1, 4));
+        assertEquals(0, Money.multiplyAndDivide(1, 1, 3));
+    }
+
+    @Test
+    void multiplyAndDivideMatchesBigDecimalHalfUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long amount = random.nextInt(20_000_000) - 10_000_000;
+            long multiplier = random.nextInt(1_000_000);
+            long divisor = 1 + random.nextInt(10_000);
+            long expected = BigDecimal.valueOf(amount).multiply(BigDecimal.valueOf(multiplier))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP).longValueExact();
+            assertEquals(expected, Money.multiplyAndDivide(amount, multiplier, divisor),
+                    amount + " * " + multiplier + " / " + divisor);
+        }
+    }
+
+    @Test
+    void multiplyAndDivideRejectsOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.multiplyAndDivide(Long.MAX_VALUE, 2, 1));
+    }
+
+    @Test
+    void ofPesosRoundsToTheNearestCentavo() {
+        assertEquals(123456, Money.ofPesos(1234.56));
+        assertEquals(13, Money.ofPesos(0.125));
+        assertEquals(-13, Money.ofPesos(-0.125));
+        assertEquals(0, Money.ofPesos(0.004));
+    }
+
+    @Test
+    void toPlainStringKeepsTwoDecimals() {
+        assertEquals("1234.50", Money.toPlainString(123450));
+        assertEquals("0.05", Money.toPlainString(5));
+        assertEquals("-0.05", Money.toPlainString(-5));
+        assertEquals("-12.34", Money.toPlainString(-1234));
+    }
+}
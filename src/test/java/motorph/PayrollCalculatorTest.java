@@ -0,0 +1,95 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PayrollCalculatorTest {
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 10);
+    private static final LocalDate REGULAR_HOLIDAY = LocalDate.of(2024, 6, 12);
+    private static final LocalDate SPECIAL_SATURDAY = LocalDate.of(2024, 6, 15);
+
+    private PayrollCalculator calculator;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        Map<LocalDate, Byte> holidays = new HashMap<>();
+        holidays.put(REGULAR_HOLIDAY, HolidayCalendar.REGULAR_HOLIDAY);
+        holidays.put(SPECIAL_SATURDAY, HolidayCalendar.SPECIAL_NON_WORKING_DAY);
+        calculator = new PayrollCalculator(new FileHandler(), new HolidayCalendar(holidays));
+
+        employee = new Employee();
+        employee.setEmployeeId("10001");
+        employee.setBasicSalary(20000);
+        employee.setHourlyRate(100);
+    }
+
+    @Test
+    void ordinaryDayEarnsNoHolidayPremium() {
+        PayrollResult week = calculateDay(MONDAY, 480, 60, 0, false);
+        assertEquals(80000, week.getRegularPay());
+        assertEquals(12500, week.getOvertimePay());
+        assertEquals(0, week.getHolidayPremiumPay());
+        assertEquals(0, week.getHolidayMinutes());
+    }
+
+    @Test
+    void regularHolidayPaysDoubleAndItsOvertimeRate() {
+        PayrollResult week = calculateDay(REGULAR_HOLIDAY, 480, 60, 0, false);
+        // 8 hours at the extra 100%, 1 hour at 260% instead of 125%
+        assertEquals(80000 + 13500, week.getHolidayPremiumPay());
+        assertEquals(12500, week.getOvertimePay());
+        assertEquals(540, week.getHolidayMinutes());
+    }
+
+    @Test
+    void specialDayOnARestDayPays150Percent() {
+        PayrollResult week = calculateDay(SPECIAL_SATURDAY, 480, 0, 0, true);
+        assertEquals(40000, week.getHolidayPremiumPay());
+    }
+
+    @Test
+    void nightDifferentialIsTenPercentOfTheDaysRate() {
+        assertEquals(2000, calculateDay(MONDAY, 480, 0, 120, false).getNightDifferentialPay());
+        // On a regular holiday the day's rate is 200%
+        assertEquals(4000, calculateDay(REGULAR_HOLIDAY, 480, 0, 120, false).getNightDifferentialPay());
+    }
+
+    @Test
+    void nightDifferentialIsRoundedOnceToTheNearestCentavo() {
+        employee.setHourlyRate(123.45);
+        // 30 minutes at 10% of PHP 123.45 is PHP 6.1725
+        assertEquals(617, calculateDay(MONDAY, 480, 0, 30, false).getNightDifferentialPay());
+    }
+
+    @Test
+    void allEmployeeRunsAreOrderedByNumericEmployeeId() {
+        List<Employee> employees = new ArrayList<>();
+        for (String id : new String[]{"10010", "A1", "9", "10002", "010"}) {
+            Employee other = new Employee();
+            other.setEmployeeId(id);
+            employees.add(other);
+        }
+        List<String> ids = new ArrayList<>();
+        for (Employee sorted : PayrollCalculator.sortByEmployeeId(employees)) {
+            ids.add(sorted.getEmployeeId());
+        }
+        assertEquals(Arrays.asList("9", "010", "10002", "10010", "A1"), ids);
+    }
+
+    private PayrollResult calculateDay(LocalDate date, int regularMinutes, int overtimeMinutes,
+                                       int nightMinutes, boolean restDay) {
+        DailyWorkSummary day = new DailyWorkSummary(employee.getEmployeeId(), date,
+                regularMinutes, overtimeMinutes, 0, nightMinutes, restDay);
+        return calculator.calculateWeek(employee, 1, Collections.singletonList(day));
+    }
+}
@@ -0,0 +1,102 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class RateTableTest {
+
+    @Test
+    void sssFirstBoundIsExclusiveAndTheOthersInclusive() {
+        RateTable sss = RateTable.getDefaultSss();
+        assertEquals(13500, sss.getAmount(324999));
+        assertEquals(15750, sss.getAmount(325000));
+        assertEquals(15750, sss.getAmount(375000));
+        assertEquals(18000, sss.getAmount(375001));
+        assertEquals(110250, sss.getAmount(2475000));
+        assertEquals(112500, sss.getAmount(2475001));
+        assertEquals(112500, sss.getAmount(10000000));
+    }
+
+    @Test
+    void philHealthRoundsTheRatePartToTheNearestCentavo() {
+        RateTable philHealth = RateTable.getDefaultPhilHealth();
+        assertEquals(15000, philHealth.getAmount(1000000));
+        // 1.5% of 10,000.01 is 150.00015
+        assertEquals(15000, philHealth.getAmount(1000001));
+        // 1.5% of 25,000.50 is 375.0075
+        assertEquals(37501, philHealth.getAmount(2500050));
+        // 1.5% of 25,000.30 is 375.0045
+        assertEquals(37500, philHealth.getAmount(2500030));
+        // 1.5% of 59,999.66 is 899.9949
+        assertEquals(89999, philHealth.getAmount(5999966));
+        assertEquals(90000, philHealth.getAmount(5999999));
+        assertEquals(90000, philHealth.getAmount(6000000));
+    }
+
+    @Test
+    void pagIbigIsCappedByTheBracketMaximum() {
+        RateTable pagIbig = RateTable.getDefaultPagIbig();
+        assertEquals(1500, pagIbig.getAmount(150000));
+        assertEquals(3000, pagIbig.getAmount(150001));
+        assertEquals(10000, pagIbig.getAmount(500000));
+        assertEquals(10000, pagIbig.getAmount(9000000));
+    }
+
+    @Test
+    void withholdingTaxAppliesTheRateAboveTheExcess() {
+        RateTable tax = RateTable.getDefaultWithholdingTax();
+        assertEquals(0, tax.getAmount(2083300));
+        // 20% of 0.01 above 20,833 is 0.002
+        assertEquals(0, tax.getAmount(2083301));
+        // 20% of 0.03 above 20,833 is 0.006
+        assertEquals(1, tax.getAmount(2083303));
+        assertEquals(250000, tax.getAmount(3333300));
+        assertEquals(250000 + 2500, tax.getAmount(3343300));
+        // 10,833 + 30% of the 33,333 above 66,667
+        assertEquals(2083290, tax.getAmount(10000000));
+        // 40,833.33 + 32% of the 100,000 above 166,667
+        assertEquals(7283333, tax.getAmount(26666700));
+    }
+
+    @Test
+    void withholdingTaxIsNeverNegativeAndContinuousAtTheBounds() {
+        RateTable builtIn = RateTable.getDefaultWithholdingTax();
+        RateTable fromFile = new FileHandler().readWithholdingTaxRates().getTable(LocalDate.of(2024, 6, 1));
+        for (RateTable tax : new RateTable[]{builtIn, fromFile}) {
+            for (long income = 0; income <= 100_000_000; income += 100) {
+                assertTrue(tax.getAmount(income) >= 0, "Negative tax at " + Money.toPlainString(income));
+            }
+            // The published fixed amounts are rounded (e.g. 10,833 where 10,833.50 would be exact),
+            // so the tax may jump by less than a peso at a bound, in either direction
+            for (long bound : new long[]{2083300, 3333300, 6666700, 16666700, 66666700}) {
+                long jump = tax.getAmount(bound + 1) - tax.getAmount(bound);
+                assertTrue(Math.abs(jump) < 100, "Tax jumps by " + Money.toPlainString(jump) + " at " + Money.toPlainString(bound));
+            }
+        }
+    }
+
+    @Test
+    void builtInWithholdingTaxMatchesTheDataFile() {
+        RateTable builtIn = RateTable.getDefaultWithholdingTax();
+        RateTable fromFile = new FileHandler().readWithholdingTaxRates().getTable(LocalDate.of(2024, 6, 1));
+        for (long income = 0; income <= 100_000_000; income += 37) {
+            assertEquals(builtIn.getAmount(income), fromFile.getAmount(income), Money.toPlainString(income));
+        }
+    }
+
+    @Test
+    void rejectsUnorderedOrBoundedTables() {
+        assertThrows(IllegalArgumentException.class, () -> new RateTable.Builder()
+                .add(200, true, 0, 0, 0, RateTable.NO_LIMIT)
+                .add(100, true, 0, 0, 0, RateTable.NO_LIMIT)
+                .add(RateTable.NO_LIMIT, true, 0, 0, 0, RateTable.NO_LIMIT)
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> new RateTable.Builder()
+                .add(100, true, 0, 0, 0, RateTable.NO_LIMIT)
+                .build());
+    }
+}
@@ -0,0 +1,88 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the SSS bracket table, built in and as shipped in data/sss-contributions.csv, against
+ * the if/else ladder it replaced, at every centavo of the salary range the ladder distinguishes.
+ */
+class SssContributionTest {
+    // Past the last bound (24,750) every salary gets the maximum
+    static final long MAX_SALARY = 3_000_000;
+
+    @Test
+    void builtInTableMatchesTheOldLadder() {
+        assertMatchesOldLadder(RateTable.getDefaultSss());
+    }
+
+    @Test
+    void tableFromTheDataFileMatchesTheOldLadder() {
+        RateTableHistory history = new FileHandler().readSssContributionRates();
+        assertMatchesOldLadder(history.getTable(LocalDate.of(2024, 6, 1)));
+    }
+
+    private static void assertMatchesOldLadder(RateTable table) {
+        for (long salary = 0; salary <= MAX_SALARY; salary++) {
+            long expected = Money.ofPesos(oldLadder(salary / (double) Money.CENTAVOS_PER_PESO));
+            long actual = table.getAmount(salary);
+            if (expected != actual) {
+                assertEquals(expected, actual, "Salary " + Money.toPlainString(salary));
+            }
+        }
+        for (long salary = MAX_SALARY; salary < 1_000_000_000L; salary = salary * 3 / 2) {
+            assertEquals(Money.ofPesos(oldLadder(salary / (double) Money.CENTAVOS_PER_PESO)), table.getAmount(salary));
+        }
+    }
+
+    // calculateSSS as it was before the bracket table, in pesos
+    static double oldLadder(double monthlySalary) {
+        if (monthlySalary < 3250) return 135.00;
+        else if (monthlySalary <= 3750) return 157.50;
+        else if (monthlySalary <= 4250) return 180.00;
+        else if (monthlySalary <= 4750) return 202.50;
+        else if (monthlySalary <= 5250) return 225.00;
+        else if (monthlySalary <= 5750) return 247.50;
+        else if (monthlySalary <= 6250) return 270.00;
+        else if (monthlySalary <= 6750) return 292.50;
+        else if (monthlySalary <= 7250) return 315.00;
+        else if (monthlySalary <= 7750) return 337.50;
+        else if (monthlySalary <= 8250) return 360.00;
+        else if (monthlySalary <= 8750) return 382.50;
+        else if (monthlySalary <= 9250) return 405.00;
+        else if (monthlySalary <= 9750) return 427.50;
+        else if (monthlySalary <= 10250) return 450.00;
+        else if (monthlySalary <= 10750) return 472.50;
+        else if (monthlySalary <= 11250) return 495.00;
+        else if (monthlySalary <= 11750) return 517.50;
+        else if (monthlySalary <= 12250) return 540.00;
+        else if (monthlySalary <= 12750) return 562.50;
+        else if (monthlySalary <= 13250) return 585.00;
+        else if (monthlySalary <= 13750) return 607.50;
+        else if (monthlySalary <= 14250) return 630.00;
+        else if (monthlySalary <= 14750) return 652.50;
+        else if (monthlySalary <= 15250) return 675.00;
+        else if (monthlySalary <= 15750) return 697.50;
+        else if (monthlySalary <= 16250) return 720.00;
+        else if (monthlySalary <= 16750) return 742.50;
+        else if (monthlySalary <= 17250) return 765.00;
+        else if (monthlySalary <= 17750) return 787.50;
+        else if (monthlySalary <= 18250) return 810.00;
+        else if (monthlySalary <= 18750) return 832.50;
+        else if (monthlySalary <= 19250) return 855.00;
+        else if (monthlySalary <= 19750) return 877.50;
+        else if (monthlySalary <= 20250) return 900.00;
+        else if (monthlySalary <= 20750) return 922.50;
+        else if (monthlySalary <= 21250) return 945.00;
+        else if (monthlySalary <= 21750) return 967.50;
+        else if (monthlySalary <= 22250) return 990.00;
+        else if (monthlySalary <= 22750) return 1012.50;
+        else if (monthlySalary <= 23250) return 1035.00;
+        else if (monthlySalary <= 23750) return 1057.50;
+        else if (monthlySalary <= 24250) return 1080.00;
+        else if (monthlySalary <= 24750) return 1102.50;
+        else return 1125.00; // Max contribution
+    }
+}
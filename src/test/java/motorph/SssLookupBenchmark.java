@@ -0,0 +1,41 @@
+package motorph;
+
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Times an SSS lookup in the bracket table (binary search) against the if/else ladder it replaced,
+ * on random salaries across the bracket range.
+ */
+@Tag(Benchmarks.TAG)
+class SssLookupBenchmark {
+
+    @Test
+    void tableAgainstLadder() {
+        Random random = new Random(5);
+        long[] salaries = new long[1_000_000];
+        double[] salariesInPesos = new double[salaries.length];
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = random.nextInt((int) SssContributionTest.MAX_SALARY);
+            salariesInPesos[i] = salaries[i] / (double) Money.CENTAVOS_PER_PESO;
+        }
+        RateTable table = RateTable.getDefaultSss();
+
+        double ladder = Benchmarks.nanosPerOperation("SSS if/else ladder", salaries.length, 10, () -> {
+            double sum = 0;
+            for (double salary : salariesInPesos) {
+                sum += SssContributionTest.oldLadder(salary);
+            }
+            return (long) sum;
+        });
+        double lookup = Benchmarks.nanosPerOperation("SSS bracket table", salaries.length, 10, () -> {
+            long sum = 0;
+            for (long salary : salaries) {
+                sum += table.getAmount(salary);
+            }
+            return sum;
+        });
+        System.out.printf("SSS lookup speedup: %.1fx%n", ladder / lookup);
+    }
+}
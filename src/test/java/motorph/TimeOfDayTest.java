@@ -0,0 +1,73 @@
+package motorph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.junit.jupiter.api.Test;
+
+class TimeOfDayTest {
+    private static final DateTimeFormatter[] FORMATTERS = {
+            DateTimeFormatter.ofPattern("HH:mm"), DateTimeFormatter.ofPattern("H:mm")};
+    private static final char[] ALPHABET = "0123456789:x".toCharArray();
+
+    @Test
+    void fastPathAgreesWithTheFormattersOnEveryShortString() {
+        char[] text = new char[5];
+        for (int length = 1; length <= text.length; length++) {
+            int combinations = (int) Math.pow(ALPHABET.length, length);
+            for (int n = 0; n < combinations; n++) {
+                int rest = n;
+                for (int i = 0; i < length; i++) {
+                    text[i] = ALPHABET[rest % ALPHABET.length];
+                    rest /= ALPHABET.length;
+                }
+                String input = new String(text, 0, length);
+                int minute = TimeOfDay.parseMinuteOfDay(input);
+                // Inputs the fast path rejects still go through the formatters, so only accepted ones must agree
+                if (minute >= 0) {
+                    assertEquals(parseWithFormatters(input), TimeOfDay.toLocalTime(minute), input);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fastPathAcceptsEveryMinuteInBothFormats() {
+        for (int minute = 0; minute < TimeOfDay.MINUTES_PER_DAY; minute++) {
+            LocalTime time = TimeOfDay.toLocalTime(minute);
+            assertEquals(minute, TimeOfDay.parseMinuteOfDay(time.format(FORMATTERS[0])));
+            assertEquals(minute, TimeOfDay.parseMinuteOfDay(time.format(FORMATTERS[1])));
+            assertEquals(minute, TimeOfDay.toMinuteOfDay(time));
+        }
+    }
+
+    @Test
+    void rejectsWhatIsNotAPlainTime() {
+        assertEquals(-1, TimeOfDay.parseMinuteOfDay("24:00"));
+        assertEquals(-1, TimeOfDay.parseMinuteOfDay("8:60"));
+        assertEquals(-1, TimeOfDay.parseMinuteOfDay("008:05"));
+        assertEquals(-1, TimeOfDay.parseMinuteOfDay("8.05"));
+        assertEquals(-1, TimeOfDay.parseMinuteOfDay(""));
+    }
+
+    @Test
+    void sharesOneLocalTimePerMinute() {
+        assertSame(TimeOfDay.toLocalTime(TimeOfDay.parseMinuteOfDay("8:05")),
+                TimeOfDay.toLocalTime(TimeOfDay.parseMinuteOfDay("08:05")));
+    }
+
+    // The formatter loop that parseTimeWithFallbacks used for every time before the fast path
+    static LocalTime parseWithFormatters(String text) {
+        for (DateTimeFormatter formatter : FORMATTERS) {
+            try {
+                return LocalTime.parse(text, formatter);
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package motorph;
+
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Times parsing punch times with the exception-free fast path against the formatter loop it
+ * replaced, on random "H:mm" times (which make the loop throw once before "H:mm" matches).
+ */
+@Tag(Benchmarks.TAG)
+class TimeParsingBenchmark {
+
+    @Test
+    void fastPathAgainstFormatters() {
+        Random random = new Random(11);
+        String[] times = new String[100_000];
+        for (int i = 0; i < times.length; i++) {
+            int minute = random.nextInt(TimeOfDay.MINUTES_PER_DAY);
+            times[i] = minute / 60 + ":" + (minute % 60 < 10 ? "0" : "") + minute % 60;
+        }
+
+        double formatters = Benchmarks.nanosPerOperation("Formatter loop", times.length, 5, () -> {
+            long sum = 0;
+            for (String time : times) {
+                sum += TimeOfDayTest.parseWithFormatters(time).getMinute();
+            }
+            return sum;
+        });
+        double fastPath = Benchmarks.nanosPerOperation("Fast path", times.length, 20, () -> {
+            long sum = 0;
+            for (String time : times) {
+                sum += TimeOfDay.parseMinuteOfDay(time);
+            }
+            return sum;
+        });
+        System.out.printf("Time parsing speedup: %.0fx%n", formatters / fastPath);
+    }
+}